@@ -0,0 +1,165 @@
+package io.github.ryntric;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common base of the primitive channels.
+ * <p>
+ * The base class owns the {@link Coordinator} and ring buffer of a channel and
+ * implements what does not depend on the type of the values: the lifecycle, the
+ * {@link ChannelMetrics} and the receive loops, which hand claimed ranges to the ring
+ * buffer acting as the {@link Dispatcher}. Subclasses only provide the typed push
+ * methods and the factories.
+ * </p>
+ *
+ * @param <C> the type of consumer values are delivered to
+ * @param <B> the type of the ring buffer
+ * @see Channel
+ */
+abstract class AbstractChannel<C, B extends AbstractRingBuffer & Dispatcher<C>> implements AutoCloseable {
+    final Coordinator coordinator;
+    final B ringBuffer;
+    private final Dispatcher<C> dispatcher;
+    private final ChannelMetrics metrics;
+
+    AbstractChannel(ChannelParts parts, B ringBuffer) {
+        this.coordinator = parts.coordinator;
+        this.ringBuffer = ringBuffer;
+        this.dispatcher = MeteredDispatcher.of(ringBuffer, parts.metrics);
+        this.metrics = parts.metrics;
+    }
+
+    final void ensureOpen() {
+        if (ringBuffer.isClosed()) {
+            throw new IllegalStateException("Channel is closed");
+        }
+    }
+
+    /**
+     * Returns the runtime metrics of this channel.
+     *
+     * @return the metrics, or {@code null} if the channel was created without
+     *         {@link ChannelOptions#metrics(String)}
+     */
+    public ChannelMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Closes the channel to producers and wakes every waiting producer and consumer.
+     * Consumers keep receiving the values left in the channel, after which the
+     * blocking receive methods report the end of the stream.
+     *
+     * @see Channel#close()
+     */
+    @Override
+    public void close() {
+        ringBuffer.close();
+        coordinator.close();
+    }
+
+    /**
+     * Tells whether the channel has been closed.
+     *
+     * @return {@code true} if {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return ringBuffer.isClosed();
+    }
+
+    /**
+     * Waits until consumers have handled every value pushed so far, but no longer
+     * than the given timeout.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of {@code timeout}
+     * @return {@code true} if every value has been handled, {@code false} if the timeout elapsed first
+     * @see Channel#awaitDrained(long, TimeUnit)
+     */
+    public boolean awaitDrained(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !ringBuffer.isDrained(); attempt++) {
+            if (!coordinator.producerWait(attempt, deadline)) {
+                return ringBuffer.isDrained();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes the channel, releases its off-heap memory and unregisters its metrics.
+     * Producers must have returned from their last push.
+     *
+     * @throws IllegalStateException if consumers have not handled every value yet
+     * @see Channel#free()
+     */
+    public void free() {
+        close();
+        ringBuffer.free();
+        if (metrics != null) {
+            metrics.unregister();
+        }
+    }
+
+    /**
+     * Attempts to receive up to {@code batchsize} values from the channel and
+     * process them using the given consumer. Returns immediately if no values are
+     * available.
+     *
+     * @param batchsize the maximum number of values to consume in one batch
+     * @param consumer  the consumer function used to process received values
+     */
+    public void receive(int batchsize, C consumer) {
+        if (ringBuffer.poll(dispatcher, batchsize, consumer) == PollerState.PROCESSING) {
+            coordinator.wakeupProducer();
+        }
+    }
+
+    /**
+     * Waits until at least one value is available to consume, then processes up to
+     * {@code batchsize} values using the given consumer.
+     *
+     * @param batchsize the maximum number of values to consume in one iteration
+     * @param consumer  the consumer function used to process received values
+     * @return {@code true} if values were processed, {@code false} once the channel
+     *         is closed and no values are left
+     */
+    public boolean blockingReceive(int batchsize, C consumer) {
+        for (int attempt = 0; ringBuffer.poll(dispatcher, batchsize, consumer) == PollerState.IDLE; attempt++) {
+            if (ringBuffer.isCompleted()) {
+                if (ringBuffer.poll(dispatcher, batchsize, consumer) == PollerState.IDLE) {
+                    return false;
+                }
+                break;
+            }
+            coordinator.consumerWait(attempt);
+        }
+        coordinator.wakeupProducer();
+        return true;
+    }
+
+    /**
+     * Waits until at least one value is available to consume, but no longer than
+     * the given timeout, then processes up to {@code batchsize} values.
+     *
+     * @param batchsize the maximum number of values to consume in one iteration
+     * @param consumer  the consumer function used to process received values
+     * @param timeout   the maximum time to wait for values
+     * @param unit      the time unit of the {@code timeout} argument
+     * @return {@code true} if values were processed, {@code false} if the timeout elapsed first
+     *         or the channel is closed and no values are left
+     */
+    public boolean blockingReceive(int batchsize, C consumer, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ringBuffer.poll(dispatcher, batchsize, consumer) == PollerState.IDLE; attempt++) {
+            if (ringBuffer.isCompleted() || !coordinator.consumerWait(attempt, deadline)) {
+                if (ringBuffer.poll(dispatcher, batchsize, consumer) == PollerState.IDLE) {
+                    return false;
+                }
+                break;
+            }
+        }
+        coordinator.wakeupProducer();
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.Util;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Common base of the reference and primitive ring buffers.
+ * <p>
+ * The base class owns the {@link Sequencer} and {@link Poller} of a channel and
+ * exposes the sequence-level operations (claiming, publishing, polling) that do
+ * not depend on how elements are stored. Subclasses provide the storage and act
+ * as the {@link Dispatcher} that delivers claimed ranges to consumers.
+ * </p>
+ *
+ * <p>Exceptions thrown by consumers are caught by the subclasses and reported
+ * through {@link #onError(Object, long, Throwable)}, which logs them at the
+ * {@link Level#WARNING} level, so a failing consumer never stalls the ring.</p>
+ *
+ * @see RingBuffer
+ * @see Dispatcher
+ */
+abstract class AbstractRingBuffer {
+    private static final Logger LOGGER = Logger.getLogger(AbstractRingBuffer.class.getName());
+
+    protected final int size;
+    protected final int mask;
+    protected final Sequencer sequencer;
+    protected final Poller poller;
+
+    AbstractRingBuffer(Sequencer sequencer, Poller poller, int size) {
+        this.size = Util.assertThatPowerOfTwo(size);
+        this.mask = size - 1;
+        this.sequencer = sequencer;
+        this.poller = poller;
+    }
+
+    /**
+     * Creates a formatted error message for logging when item processing fails.
+     *
+     * @param item     the item being processed when the error occurred
+     * @param sequence the sequence number of the item in the buffer
+     * @return a descriptive error message containing the item and sequence number
+     */
+    private static String createErrorMessage(Object item, long sequence) {
+        return "Error while processing item with sequence  " + sequence + ", item " + item;
+    }
+
+    /**
+     * Logs an exception thrown by a consumer while it processed the given item.
+     *
+     * @param item     the item being processed when the error occurred
+     * @param sequence the sequence number associated with the item
+     * @param ex       the exception thrown by the consumer
+     */
+    protected final void onError(Object item, long sequence, Throwable ex) {
+        LOGGER.log(Level.WARNING, createErrorMessage(item, sequence), ex);
+    }
+
+    /**
+     * Returns the number of free slots, computed from the claimed cursor and the
+     * gating sequence.
+     */
+    public final long remainingCapacity() {
+        return size - (sequencer.getCursorSequenceAcquire() - sequencer.getGatingSequenceAcquire());
+    }
+
+    public final void close() {
+        sequencer.close();
+    }
+
+    public final boolean isClosed() {
+        return sequencer.isClosed();
+    }
+
+    public final boolean isCompleted() {
+        return sequencer.isCompleted();
+    }
+
+    public final boolean isDrained() {
+        return sequencer.isDrained();
+    }
+
+    public final void free() {
+        sequencer.free();
+        poller.free();
+    }
+
+    public final long claim(Coordinator coordinator, int n) {
+        return sequencer.next(coordinator, n);
+    }
+
+    public final long claim(Coordinator coordinator, int n, long deadline) {
+        return sequencer.next(coordinator, n, deadline);
+    }
+
+    public final long tryClaim(int n) {
+        return sequencer.tryNext(n);
+    }
+
+    public final void publish(long sequence) {
+        sequencer.publishCursorSequence(sequence);
+    }
+
+    public final void publish(long low, long high) {
+        sequencer.publishCursorSequence(low, high);
+    }
+
+    public final <C> PollerState poll(Dispatcher<C> dispatcher, int batchsize, C consumer) {
+        return poller.poll(sequencer, dispatcher, batchsize, consumer);
+    }
+}
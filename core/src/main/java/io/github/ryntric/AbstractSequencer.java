@@ -11,6 +11,11 @@ package io.github.ryntric;
  *   <li>{@link #gatingSequence} – tracks the minimum sequence of consumers.</li>
  * </ul>
  *
+ * <p>A ring shared by several consumer groups is gated on the sequences of the
+ * groups instead, see {@link #gateOn(Sequence[])}. Producers compare against their
+ * cached value of the minimum first and only compute a fresh minimum when the
+ * cached one does not leave enough capacity.</p>
+ *
  * <p>Implementations are responsible for defining how sequences are claimed,
  * published, and coordinated between producers and consumers. This base class
  * provides thread-safe primitives for advancing and publishing gating sequences,
@@ -32,6 +37,12 @@ abstract class AbstractSequencer implements Sequencer {
     /** The sequence tracking the progress of consumers (the gating sequence). */
     protected final Sequence gatingSequence;
 
+    /** The sequences of the consumer groups gating producers, or {@code null} for a single group. */
+    private Sequence[] gatingSequences;
+
+    /** Whether the channel has been closed to producers. */
+    private volatile boolean closed;
+
     /**
      * Creates a new {@code AbstractSequencer} with the specified buffer size.
      *
@@ -43,6 +54,42 @@ abstract class AbstractSequencer implements Sequencer {
         this.gatingSequence = new Sequence(INITIAL_CURSOR_VALUE);
     }
 
+    /**
+     * Makes producers gate on the given sequences instead of {@link #gatingSequence}.
+     * Must be called before the sequencer is shared with other threads.
+     *
+     * @param sequences the gating sequences of the consumer groups
+     */
+    final void gateOn(Sequence[] sequences) {
+        this.gatingSequences = sequences.clone();
+    }
+
+    /**
+     * Returns the minimum of the gating sequences using acquire semantics.
+     */
+    protected final long getMinimumGatingSequence() {
+        Sequence[] sequences = this.gatingSequences;
+        if (sequences == null) {
+            return gatingSequence.getAcquire();
+        }
+
+        long minimum = Long.MAX_VALUE;
+        for (Sequence sequence : sequences) {
+            minimum = Long.min(minimum, sequence.getAcquire());
+        }
+        return minimum;
+    }
+
+    @Override
+    public final long next(Coordinator coordinator, int n, long deadline) {
+        long sequence;
+        for (int attempt = 0; (sequence = tryNext(n)) == INSUFFICIENT_CAPACITY; attempt++) {
+            if (!coordinator.producerWait(attempt, deadline)) {
+                return tryNext(n);
+            }
+        }
+        return sequence;
+    }
 
     @Override
     public final void publishGatingSequence(long sequence) {
@@ -51,12 +98,8 @@ abstract class AbstractSequencer implements Sequencer {
 
 
     @Override
-    public final void advanceGatingSequence(long sequence, long current) {
-        Sequence gatingSequence = this.gatingSequence;
-
-        while (current < sequence && !gatingSequence.weakCompareAndSetVolatile(current, sequence)) {
-            current = gatingSequence.getAcquire();
-        }
+    public final boolean advanceGatingSequence(long sequence, long current) {
+        return gatingSequence.weakCompareAndSetVolatile(current, sequence);
     }
 
     @Override
@@ -70,12 +113,63 @@ abstract class AbstractSequencer implements Sequencer {
     }
 
     @Override
-    public final long wait(Coordinator coordinator, Sequence gatingSequence, long wrapPoint) {
+    public final long getGatingSequenceAcquire() {
+        return getMinimumGatingSequence();
+    }
+
+    @Override
+    public final long wait(Coordinator coordinator, long wrapPoint) {
         long gating;
-        while (wrapPoint > (gating = gatingSequence.getAcquire())) {
-            coordinator.producerWait();
+        for (int attempt = 0; wrapPoint > (gating = getMinimumGatingSequence()); attempt++) {
+            coordinator.producerWait(attempt);
         }
         return gating;
     }
 
+    @Override
+    public final void close() {
+        this.closed = true;
+    }
+
+    @Override
+    public final boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Tells whether the sequencer is closed and every sequence claimed so far has been
+     * published. With several producers the cursor is the last claimed sequence, so a
+     * slot claimed before {@link #close()} but not yet published keeps the stream open
+     * until it is.
+     */
+    @Override
+    public final boolean isCompleted() {
+        if (!closed) {
+            return false;
+        }
+        long cursor = cursorSequence.getAcquire();
+        long gating = getMinimumGatingSequence();
+        return gating >= cursor || getHighest(gating + 1, cursor) == cursor;
+    }
+
+    @Override
+    public final boolean isDrained() {
+        long cursor = cursorSequence.getAcquire();
+        return getMinimumGatingSequence() >= cursor;
+    }
+
+    /**
+     * Checks that the ring can be released; subclasses owning off-heap memory release
+     * it after calling this method.
+     */
+    @Override
+    public void free() {
+        if (!closed) {
+            throw new IllegalStateException("Channel is not closed");
+        }
+        if (!isDrained()) {
+            throw new IllegalStateException("Channel is not drained");
+        }
+    }
+
 }
@@ -1,8 +1,6 @@
 package io.github.ryntric;
 
-import io.github.ryntric.util.UnsafeUtil;
 import io.github.ryntric.util.Util;
-import sun.misc.Unsafe;
 
 import java.lang.invoke.VarHandle;
 
@@ -16,46 +14,86 @@ import java.lang.invoke.VarHandle;
  * to determine whether a sequence is available.
  *
  * <p>
- * Memory is allocated off-heap via {@link sun.misc.Unsafe} for low-level control
+ * A range published at once is marked as a run instead: its first slot holds the
+ * complement of the flag and a second region holds the length of the run, so the
+ * other slots of the range are neither written nor read. Scans therefore only ever
+ * look at the first slot of a run. A scan cut short inside a run records the end of
+ * the run in a watermark, and a later scan starting inside the run, where the slots
+ * are stale, resumes behind the watermark instead.
+ *
+ * <p>
+ * Sequences are mapped to slots by a {@link SlotLayout}. Only the packed layout keeps
+ * the slots of a lap in sequence order, which scans comparing two flags at once rely
+ * on; with the spread layout every run or single sequence is looked up on its own.
+ *
+ * <p>
+ * Memory is allocated off-heap via {@link NativeMemory} for low-level control
  * and to minimize GC pressure. Each slot is aligned using {@code SCALE_FACTOR}
- * and {@code Constants.BYTE_BUFFER_PADDING} to avoid false sharing.
+ * and {@code Constants.BYTE_BUFFER_PADDING} to avoid false sharing. The memory is
+ * released by {@link #free()}, or once the buffer becomes unreachable.
  **/
 
 final class AvailabilityBuffer {
-    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
-
     private static final int SCALE_FACTOR = 2;
 
-    private final long capacity;
-    private final long baseAddress;
+    /**
+     * Initial value of every byte. Neither the flag of the first lap, {@code 0}, nor
+     * its run marker, {@code -1}, may be built from it.
+     */
+    private static final byte UNAVAILABLE = 0x7F;
+
+    private final NativeMemory.Block memory;
+    private final SlotLayout layout;
+    private final boolean pairs;
+    private final long lengthOffset;
     private final long shift;
     private final long mask;
 
     /**
-     * Creates a new availability buffer for the given ring size.
-     * @param size the ring buffer size (must be a power of 2)
+     * Highest sequence known to be available together with every sequence before it.
+     * Raised, never lowered, by scans that stop inside a run.
+     */
+    private final Sequence contiguous = new Sequence(Sequence.INITIAL_VALUE);
+
+    /**
+     * Creates a new availability buffer for the given ring size, with all slots
+     * initialized to unavailable and laid out in sequence order.
+     * @param size    the ring buffer size (must be a power of 2)
+     * @param aligned whether the buffer is allocated on whole, page-aligned pages
      */
-    public AvailabilityBuffer(int size) {
-        this.capacity = getCapacity(size);
-        this.baseAddress = UNSAFE.allocateMemory(capacity);
+    public AvailabilityBuffer(int size, boolean aligned) {
+        this(size, aligned, SlotLayout.packed(size));
+    }
+
+    /**
+     * Creates a new availability buffer for the given ring size, with all slots
+     * initialized to unavailable.
+     * @param size    the ring buffer size (must be a power of 2)
+     * @param aligned whether the buffer is allocated on whole, page-aligned pages
+     * @param layout  the mapping of sequences to slots
+     */
+    public AvailabilityBuffer(int size, boolean aligned, SlotLayout layout) {
+        this.memory = NativeMemory.allocate(getCapacity(size), UNAVAILABLE, aligned);
+        this.layout = layout;
+        this.pairs = !layout.isSpread();
+        this.lengthOffset = (long) size << SCALE_FACTOR;
         this.mask = size - 1;
         this.shift = Util.log2(size);
-        this.init();
     }
 
     /**
-     * Initializes all slots in the buffer to {@code -1} (unavailable).
+     * Releases the off-heap memory. The buffer must not be used afterwards.
      */
-    private void init() {
-        UNSAFE.setMemory(baseAddress, capacity, (byte) -1);
+    public void free() {
+        memory.free();
     }
 
     /**
      * Computes the off-heap memory capacity required for the given size,
-     * including scaling and padding.
+     * including the run lengths, scaling and padding.
      */
     private long getCapacity(long size) {
-        return (size << SCALE_FACTOR) + (Constants.BYTE_BUFFER_PADDING << 1);
+        return (size << (SCALE_FACTOR + 1)) + (Constants.BYTE_BUFFER_PADDING << 1);
     }
 
     /**
@@ -67,26 +105,33 @@ final class AvailabilityBuffer {
     }
 
     /**
-     * Computes the off-heap address for the given sequence.
+     * Computes the offset of the flag of the given sequence within the block.
      */
-    private long calculateAddress(long sequence) {
-        return (Util.wrapLongIndex(sequence, mask) << SCALE_FACTOR) + baseAddress + Constants.BYTE_BUFFER_PADDING;
+    private long calculateOffset(long sequence) {
+        return ((long) layout.index(sequence) << SCALE_FACTOR) + Constants.BYTE_BUFFER_PADDING;
     }
 
     /**
      * Returns the highest contiguous sequence number in the range [low, high]
      * that has been marked as available in this buffer.
      * <p>
-     * This method checks each sequence in order and stops at the first sequence
+     * This method checks the sequences in order and stops at the first sequence
      * that has not yet been published (i.e., the availability flag does not match
      * the expected value). It ensures memory visibility of writes from other threads
-     * using a {@link sun.misc.Unsafe#loadFence()} before starting the check.
+     * using a {@link VarHandle#acquireFence()} before starting the check.
      * <p>
      * The availability of a sequence is determined by its "availability flag",
      * which is calculated based on the sequence number and the buffer size.
      * If the flag stored in memory does not match the expected value for a sequence,
      * that sequence is considered unavailable.
      * <p>
+     * Sequences up to the {@link #contiguous} watermark are skipped. Runs never span
+     * two laps of the ring, and a range never spans more than two laps, so the rest is
+     * split at the end of the lap of {@code low} and each part is scanned by
+     * {@link #scan(long, long, int)}. A scan that ends beyond {@code high} has stopped
+     * inside a run, whose end is recorded before {@code high} is returned. A single
+     * sequence published on its own, as polled by a consumer keeping up with its
+     * producers, is checked directly.
      *
      * @param low  the lowest sequence to check (inclusive)
      * @param high the highest sequence to check (inclusive)
@@ -94,17 +139,85 @@ final class AvailabilityBuffer {
      *         or {@code low - 1} if none are available
      */
     public long getAvailable(long low, long high) {
-        UNSAFE.loadFence();
-        for (long sequence = low; sequence <= high; sequence++) {
-            long address = calculateAddress(sequence);
-            int flag = calculateAvailabilityFlag(sequence);
-            if (UNSAFE.getInt(null, address) != flag) {
+        VarHandle.acquireFence();
+        long known = contiguous.getAcquire();
+        if (known >= low) {
+            if (known >= high) {
+                return high;
+            }
+            low = known + 1;
+        }
+        if (low == high && memory.getInt(calculateOffset(low)) == calculateAvailabilityFlag(low)) {
+            return low;
+        }
+
+        long lapEnd = Long.min(high, low | mask);
+        long available = scan(low, lapEnd, calculateAvailabilityFlag(low));
+        if (available == lapEnd && lapEnd != high) {
+            available = scan(lapEnd + 1, high, calculateAvailabilityFlag(lapEnd + 1));
+        }
+
+        if (available > high) {
+            raiseContiguous(available);
+            return high;
+        }
+        return available;
+    }
+
+    /**
+     * Scans the range [low, high] of a single lap, starting on the first slot of a run
+     * or of a single sequence, and returns the last available sequence. That is the
+     * end of the last run reached, which can lie beyond {@code high}.
+     * <p>
+     * Slots are 4 bytes wide and laid out in sequence order within a lap, so two
+     * sequences published one by one are compared with a single 8-byte read against
+     * the flag repeated in both halves. A leading odd sequence is checked alone, which
+     * keeps the 8-byte reads aligned. A slot holding the run marker is followed by the
+     * length of its run, read behind a load fence so the length is never older than
+     * the marker. With a spread layout neighbouring sequences are not adjacent, and
+     * the offset is looked up again after every step.
+     * </p>
+     */
+    private long scan(long low, long high, int flag) {
+        long flags = (flag & 0xFFFFFFFFL) | ((long) flag << Integer.SIZE);
+        long offset = calculateOffset(low);
+        long sequence = low;
+
+        while (sequence <= high) {
+            if (pairs && (sequence & 1) == 0) {
+                int pairs = memory.countLongs(offset, (int) ((high - sequence + 1) >>> 1), flags);
+                sequence += (long) pairs << 1;
+                offset += (long) pairs << 3;
+                if (sequence > high) {
+                    break;
+                }
+            }
+
+            int value = memory.getInt(offset);
+            int length;
+            if (value == flag) {
+                length = 1;
+            } else if (value == ~flag) {
+                VarHandle.acquireFence();
+                length = memory.getInt(offset + lengthOffset);
+            } else {
                 return sequence - 1;
             }
+            sequence += length;
+            offset = pairs ? offset + ((long) length << SCALE_FACTOR) : calculateOffset(sequence);
         }
-        return high;
+        return sequence - 1;
     }
 
+    /**
+     * Raises {@link #contiguous} to the given sequence unless it is already higher.
+     */
+    private void raiseContiguous(long sequence) {
+        long current;
+        do {
+            current = contiguous.getAcquire();
+        } while (current < sequence && !contiguous.weakCompareAndSetVolatile(current, sequence));
+    }
 
     /**
      * Marks the given sequence as available by writing its availability flag.
@@ -112,41 +225,54 @@ final class AvailabilityBuffer {
      * @param sequence the sequence number to mark
      */
     public void set(long sequence) {
-        long address = calculateAddress(sequence);
+        long offset = calculateOffset(sequence);
         int flag = calculateAvailabilityFlag(sequence);
-        UNSAFE.putOrderedInt(null, address, flag);
+        memory.putIntRelease(offset, flag);
     }
 
     /**
      * Marks a contiguous range of sequences as available in the availability buffer.
      * <p>
-     * This method iterates from {@code low} to {@code high} (inclusive) and writes
-     * the corresponding availability flag for each sequence directly into off-heap memory.
-     * A release fence is applied after the loop to ensure that all previous writes to
-     * the buffer are visible to other threads.
+     * The range is written as a run: the length goes into the length region with a
+     * plain write, and the complement of the availability flag into the first slot
+     * with an ordered write, which publishes both. A range wrapping around the ring is
+     * split into one run per lap, and a range of one sequence is written as by
+     * {@link #set(long)}. An empty range, as claimed by an empty push or poll, writes
+     * nothing; a run of length zero would stall every scan reaching it.
      * </p>
      *
-     * <p><b>Memory Semantics:</b></p>
-     * <ul>
-     *   <li>Each individual write uses a plain {@code putInt} to the calculated memory address.</li>
-     *   <li>The {@link VarHandle#releaseFence()} ensures release semantics across all writes in the batch.</li>
-     * </ul>
-     *
      * <p><b>Use Case:</b></p>
      * <ul>
      *   <li>Optimized for publishing multiple sequences at once in a multi-producer ring buffer.</li>
-     *   <li>Reduces synchronization overhead by batching writes and using a single release fence.</li>
+     *   <li>Costs one or two writes whatever the size of the range, and lets a scan step over it with one read.</li>
      * </ul>
      *
      * @param low  the lowest sequence number in the range to mark as available
      * @param high the highest sequence number in the range to mark as available (inclusive)
      */
     public void setRange(long low, long high) {
-        for (long sequence = low; sequence <= high; sequence++) {
-            long address = calculateAddress(sequence);
-            int flag = calculateAvailabilityFlag(sequence);
-            UNSAFE.putInt(null, address, flag);
+        if (high < low) {
+            return;
+        }
+        long lapEnd = low | mask;
+        if (lapEnd < high) {
+            setRun(lapEnd + 1, high);
+            high = lapEnd;
+        }
+        setRun(low, high);
+    }
+
+    /**
+     * Writes the run [low, high], which lies within a single lap.
+     */
+    private void setRun(long low, long high) {
+        long offset = calculateOffset(low);
+        int flag = calculateAvailabilityFlag(low);
+        if (low == high) {
+            memory.putIntRelease(offset, flag);
+            return;
         }
-        UNSAFE.storeFence();
+        memory.putInt(offset + lengthOffset, (int) (high - low + 1));
+        memory.putIntRelease(offset, ~flag);
     }
 }
@@ -0,0 +1,48 @@
+package io.github.ryntric;
+
+/**
+ * Receives the items of a {@link Channel} together with their position within a batch.
+ * <p>
+ * A batch is the range of items claimed by one call to
+ * {@link Channel#receive(int, BatchHandler)} or
+ * {@link Channel#blockingReceive(int, BatchHandler)}. Knowing where a batch ends lets a
+ * handler accumulate work, such as socket writes or outgoing records, and flush it exactly
+ * once per batch instead of once per item.
+ * </p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * channel.blockingReceive(256, (msg, sequence, endOfBatch) -> {
+ *     out.write(msg);
+ *     if (endOfBatch) {
+ *         out.flush();
+ *     }
+ * });
+ * }</pre>
+ *
+ * @param <T> the type of items received from the channel
+ *
+ * @see Channel#receive(int, BatchHandler)
+ */
+@FunctionalInterface
+public interface BatchHandler<T> {
+
+    /**
+     * Called once before the first item of a batch is delivered.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     *
+     * @param size the number of items in the batch, always at least {@code 1}
+     */
+    default void onBatchStart(int size) {}
+
+    /**
+     * Called for every item of a batch, in sequence order.
+     *
+     * @param item       the received item
+     * @param sequence   the sequence of the item in the channel
+     * @param endOfBatch {@code true} if this is the last item of the batch
+     */
+    void onEvent(T item, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,390 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A channel of variable-length binary records backed by one contiguous off-heap
+ * byte ring.
+ * <p>
+ * Unlike {@code Channel<byte[]>}, records are written straight into the ring and read
+ * straight out of it, so exchanging a serialized message costs neither an allocation
+ * nor an extra copy. Producers {@link #claim(int)} space, write the payload through
+ * {@link #buffer()} using absolute {@code put} methods and {@link #commit(int)} the
+ * record. Consumers receive a read-only view of every record through a
+ * {@link RecordHandler}.
+ * </p>
+ *
+ * <p>Records are consumed by a single thread; SPSC and MPSC topologies are supported.
+ * The largest record a channel accepts is reported by {@link #maxRecordLength()}.</p>
+ *
+ * <p>Channels created with a {@link Path} keep the ring, including the producer and
+ * consumer positions, in a memory-mapped file. Producers and the consumer may then
+ * live in different processes on the same host, for example with the file placed
+ * under {@code /dev/shm}.</p>
+ *
+ * <p>{@link #close()} follows the contract of {@link Channel#close()}: producers are
+ * rejected, and the consumer handles the records left in the ring before
+ * {@link #blockingReceive(int, RecordHandler)} reports the end of the stream. The closed
+ * flag is part of the ring, so closing a channel stored in a file ends the stream for
+ * every process attached to it; such a file cannot be reused for a new stream.</p>
+ *
+ * <p>The ring of a channel created with a capacity is off-heap memory counted by
+ * {@link NativeMemory}; the ring of a channel stored in a file is mapped. Either is
+ * released by {@link #free()}, or once the channel has become unreachable.</p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * ByteChannel channel = ByteChannel.mpsc(
+ *     1 << 20,
+ *     ProducerWaitStrategyType.SPINNING,
+ *     ConsumerWaitStrategyType.BLOCKING
+ * );
+ *
+ * // Producer
+ * int offset = channel.claim(Long.BYTES);
+ * channel.buffer().putLong(offset, System.nanoTime());
+ * channel.commit(offset);
+ *
+ * // Consumer
+ * while (channel.blockingReceive(64, (buffer, index, length) -> System.out.println(buffer.getLong(index)))) {
+ *     // keep receiving until the channel is closed
+ * }
+ * }</pre>
+ *
+ * @see ByteRingBuffer
+ * @see RecordHandler
+ */
+public final class ByteChannel implements AutoCloseable {
+    private final Coordinator coordinator;
+    private final ByteRingBuffer ringBuffer;
+    private volatile boolean freed;
+
+    private ByteChannel(Coordinator coordinator, ByteRingBuffer ringBuffer) {
+        this.coordinator = coordinator;
+        this.ringBuffer = ringBuffer;
+    }
+
+    private void ensureOpen() {
+        if (ringBuffer.isClosed()) {
+            throw new IllegalStateException("Channel is closed");
+        }
+    }
+
+    /**
+     * Closes the channel to producers and wakes every waiting producer and consumer.
+     * <p>
+     * Later claims and pushes fail with {@link IllegalStateException}; records already
+     * claimed may still be committed. The consumer keeps receiving the records left in
+     * the channel, after which the blocking receive methods report the end of the
+     * stream instead of waiting. A claim racing with {@code close()} may be accepted or
+     * rejected. Closing a closed channel has no effect.
+     * </p>
+     *
+     * @see #awaitDrained(long, TimeUnit)
+     */
+    @Override
+    public void close() {
+        if (!freed) {
+            ringBuffer.close();
+        }
+        coordinator.close();
+    }
+
+    /**
+     * Tells whether the channel has been closed, possibly by another process sharing
+     * its file.
+     *
+     * @return {@code true} if {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return freed || ringBuffer.isClosed();
+    }
+
+    /**
+     * Waits until the consumer has handled every record claimed so far, but no longer
+     * than the given timeout. The caller waits according to the producer wait strategy.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of {@code timeout}
+     * @return {@code true} if every record has been handled, {@code false} if the timeout elapsed first
+     * @see Channel#awaitDrained(long, TimeUnit)
+     */
+    public boolean awaitDrained(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !ringBuffer.isDrained(); attempt++) {
+            if (!coordinator.producerWait(attempt, deadline)) {
+                return ringBuffer.isDrained();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes the channel and releases the off-heap memory of its ring, or unmaps the
+     * ring of a channel stored in a file.
+     * <p>
+     * Producers must have returned from their last claim and commit, and the consumer
+     * from its last receive, typically the one that reported the end of the stream.
+     * Afterwards only {@link #close()}, {@link #isClosed()} and {@code free()} may be
+     * called, and nobody may use {@link #buffer()} or a view handed to a
+     * {@link RecordHandler}: on Java versions before 22 such an access reads released
+     * memory. For a channel stored in
+     * a file, only the mapping of this process is released; since the closed flag is
+     * stored in the file, the stream ends for every attached process, and the file
+     * itself is left for the caller to delete. Freeing a freed channel has no effect.
+     * </p>
+     *
+     * @throws IllegalStateException if the consumer has not handled every record yet
+     * @see #awaitDrained(long, TimeUnit)
+     * @see NativeMemory
+     */
+    public void free() {
+        if (freed) {
+            return;
+        }
+        close();
+        if (!ringBuffer.isDrained()) {
+            throw new IllegalStateException("Channel is not drained");
+        }
+        freed = true;
+        ringBuffer.free();
+    }
+
+    /**
+     * Returns the largest payload, in bytes, a single record may have.
+     *
+     * @return the maximum record length
+     */
+    public int maxRecordLength() {
+        return ringBuffer.maxRecordLength();
+    }
+
+    /**
+     * Returns the writable view over the ring used by producers to fill claimed records.
+     * <p>
+     * The view is shared by all producers; only its absolute {@code put} methods
+     * may be used, and only within a claimed record.
+     * </p>
+     *
+     * @return the writable view over the ring
+     */
+    public ByteBuffer buffer() {
+        return ringBuffer.buffer();
+    }
+
+    /**
+     * Claims space for a record of {@code length} bytes, waiting for free capacity
+     * according to the producer wait strategy.
+     * <p>
+     * Every claimed record must be committed with {@link #commit(int)}, otherwise
+     * the consumer stalls on it.
+     * </p>
+     *
+     * @param length the payload length in bytes
+     * @return the index within {@link #buffer()} of the first payload byte
+     * @throws IllegalArgumentException if {@code length} exceeds {@link #maxRecordLength()}
+     * @throws IllegalStateException if the channel is closed
+     */
+    public int claim(int length) {
+        ensureOpen();
+        return ringBuffer.claim(coordinator, length);
+    }
+
+    /**
+     * Attempts to claim space for a record of {@code length} bytes without waiting.
+     *
+     * @param length the payload length in bytes
+     * @return the index within {@link #buffer()} of the first payload byte,
+     *         or {@code -1} if the channel does not have enough free capacity
+     * @throws IllegalArgumentException if {@code length} exceeds {@link #maxRecordLength()}
+     * @throws IllegalStateException if the channel is closed
+     */
+    public int tryClaim(int length) {
+        ensureOpen();
+        return ringBuffer.tryClaim(length);
+    }
+
+    /**
+     * Publishes a claimed record and signals the consumer via
+     * {@link Coordinator#wakeupConsumer()}.
+     *
+     * @param offset the index returned by {@link #claim(int)} or {@link #tryClaim(int)}
+     */
+    public void commit(int offset) {
+        ringBuffer.commit(offset);
+        coordinator.wakeupConsumer();
+    }
+
+    /**
+     * Copies {@code length} bytes starting at {@code offset} into a new record and publishes it.
+     *
+     * @param src    the array holding the payload
+     * @param offset the index of the first payload byte
+     * @param length the payload length in bytes
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of {@code src}
+     * @throws IllegalStateException if the channel is closed
+     */
+    public void push(byte[] src, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        ensureOpen();
+        ringBuffer.push(coordinator, src, offset, length);
+        coordinator.wakeupConsumer();
+    }
+
+    /**
+     * Hands up to {@code batchsize} records to the given handler. Returns immediately
+     * if no records are available.
+     *
+     * @param batchsize the maximum number of records to handle
+     * @param handler   the handler receiving each record
+     */
+    public void receive(int batchsize, RecordHandler handler) {
+        if (ringBuffer.read(batchsize, handler) != 0) {
+            coordinator.wakeupProducer();
+        }
+    }
+
+    /**
+     * Waits until at least one record is available, then hands up to {@code batchsize}
+     * records to the given handler.
+     *
+     * @param batchsize the maximum number of records to handle
+     * @param handler   the handler receiving each record
+     * @return {@code true} if records were handled, {@code false} once the channel
+     *         is closed and no records are left
+     */
+    public boolean blockingReceive(int batchsize, RecordHandler handler) {
+        for (int attempt = 0; ringBuffer.read(batchsize, handler) == 0; attempt++) {
+            if (ringBuffer.isCompleted()) {
+                if (ringBuffer.read(batchsize, handler) == 0) {
+                    return false;
+                }
+                break;
+            }
+            coordinator.consumerWait(attempt);
+        }
+        coordinator.wakeupProducer();
+        return true;
+    }
+
+    /**
+     * Waits until at least one record is available, but no longer than the given
+     * timeout, then hands up to {@code batchsize} records to the given handler.
+     *
+     * @param batchsize the maximum number of records to handle
+     * @param handler   the handler receiving each record
+     * @param timeout   the maximum time to wait for records
+     * @param unit      the time unit of the {@code timeout} argument
+     * @return {@code true} if records were handled, {@code false} if the timeout elapsed first
+     *         or the channel is closed and no records are left
+     */
+    public boolean blockingReceive(int batchsize, RecordHandler handler, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ringBuffer.read(batchsize, handler) == 0; attempt++) {
+            if (ringBuffer.isCompleted() || !coordinator.consumerWait(attempt, deadline)) {
+                if (ringBuffer.read(batchsize, handler) == 0) {
+                    return false;
+                }
+                break;
+            }
+        }
+        coordinator.wakeupProducer();
+        return true;
+    }
+
+    private static ByteChannel create(int capacity, boolean multiProducer, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        int length = ByteRingBuffer.requiredCapacity(Util.assertThatPowerOfTwo(capacity));
+        return create(NativeMemory.allocateBuffer(length), capacity, multiProducer, pw, cw);
+    }
+
+    private static ByteChannel create(NativeMemory.Block memory, int capacity, boolean multiProducer, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        try {
+            return new ByteChannel(new Coordinator(pw, cw), new ByteRingBuffer(memory, capacity, multiProducer));
+        } catch (RuntimeException ex) {
+            memory.free();
+            throw ex;
+        }
+    }
+
+    private static ByteChannel map(Path path, int capacity, boolean multiProducer, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) throws IOException {
+        if (pw == ProducerWaitStrategyType.BLOCKING || pw == ProducerWaitStrategyType.PHASED) {
+            throw new IllegalArgumentException("Producer wait strategy " + pw + " cannot be signalled across processes");
+        }
+        if (cw == ConsumerWaitStrategyType.BLOCKING || cw == ConsumerWaitStrategyType.LITE_BLOCKING || cw == ConsumerWaitStrategyType.PHASED) {
+            throw new IllegalArgumentException("Consumer wait strategy " + cw + " cannot be signalled across processes");
+        }
+        return create(MappedRingFile.map(path, capacity, multiProducer), capacity, multiProducer, pw, cw);
+    }
+
+    /**
+     * Creates a new single-producer, single-consumer (SPSC) byte channel.
+     *
+     * @param capacity the number of bytes available for records (must be a power of 2)
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @return a new SPSC {@code ByteChannel}
+     */
+    public static ByteChannel spsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return create(capacity, false, pw, cw);
+    }
+
+    /**
+     * Creates a new multi-producer, single-consumer (MPSC) byte channel.
+     *
+     * @param capacity the number of bytes available for records (must be a power of 2)
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @return a new MPSC {@code ByteChannel}
+     */
+    public static ByteChannel mpsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return create(capacity, true, pw, cw);
+    }
+
+    /**
+     * Creates or attaches to a single-producer, single-consumer (SPSC) byte channel
+     * stored in a memory-mapped file, so the producer and the consumer can run in
+     * different processes.
+     * <p>
+     * The first process to open the file initializes it; later processes validate the
+     * stored layout version, capacity and producer mode. Signalling does not cross
+     * process boundaries, so the {@link ConsumerWaitStrategyType#BLOCKING},
+     * {@link ConsumerWaitStrategyType#LITE_BLOCKING} and {@link ConsumerWaitStrategyType#PHASED}
+     * consumer strategies, as well as the {@link ProducerWaitStrategyType#BLOCKING} and
+     * {@link ProducerWaitStrategyType#PHASED} producer strategies, are rejected.
+     * </p>
+     *
+     * @param path     the file holding the ring, typically under {@code /dev/shm}
+     * @param capacity the number of bytes available for records (must be a power of 2)
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @return a new SPSC {@code ByteChannel} backed by the file
+     * @throws IOException if the file cannot be mapped or was created with a different layout
+     */
+    public static ByteChannel spsc(Path path, int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) throws IOException {
+        return map(path, capacity, false, pw, cw);
+    }
+
+    /**
+     * Creates or attaches to a multi-producer, single-consumer (MPSC) byte channel
+     * stored in a memory-mapped file, so producers and the consumer can run in
+     * different processes.
+     *
+     * @param path     the file holding the ring, typically under {@code /dev/shm}
+     * @param capacity the number of bytes available for records (must be a power of 2)
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @return a new MPSC {@code ByteChannel} backed by the file
+     * @throws IOException if the file cannot be mapped or was created with a different layout
+     * @see #spsc(Path, int, ProducerWaitStrategyType, ConsumerWaitStrategyType)
+     */
+    public static ByteChannel mpsc(Path path, int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) throws IOException {
+        return map(path, capacity, true, pw, cw);
+    }
+
+}
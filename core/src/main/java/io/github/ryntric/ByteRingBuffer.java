@@ -0,0 +1,336 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.Util;
+
+import java.nio.ByteBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A ring of variable-length binary records stored in one contiguous region of
+ * off-heap memory.
+ * <p>
+ * The region is a {@link NativeMemory.Block} of {@link #requiredCapacity(int)} bytes,
+ * either allocated or mapped from a file, and every access goes through it.
+ * The first {@code capacity} bytes hold the records, followed by a trailer that
+ * stores the producer position (tail) and the consumer position (head) on separate
+ * cache lines, and a closed flag read by producers. Because all state lives inside the
+ * buffer, the same layout works for memory shared between processes.
+ * </p>
+ *
+ * <p>Each record starts with an 8-byte header: a 4-byte length followed by a 4-byte
+ * type. Records are aligned to {@link #RECORD_ALIGNMENT} bytes and never straddle the
+ * end of the ring; when a record does not fit before the end, the remaining space is
+ * filled with a padding record that consumers skip.</p>
+ *
+ * <p>A record is claimed with its length negated in the header, which consumers treat
+ * as not yet available. {@link #commit(int)} flips the length to a positive value
+ * with release semantics, publishing the payload. After handling a record, the
+ * consumer zeroes its bytes before advancing the head, so producers always claim
+ * zeroed memory.</p>
+ *
+ * <p>Multiple producers claim space with an atomic {@code getAndAdd} on the tail,
+ * in the same way as {@link MultiProducerSequencer}. A single consumer reads records
+ * in order.</p>
+ *
+ * @see ByteChannel
+ */
+final class ByteRingBuffer {
+    private static final Logger LOGGER = Logger.getLogger(ByteRingBuffer.class.getName());
+
+    /** The size of the header preceding every record. */
+    static final int HEADER_LENGTH = 8;
+
+    /** The alignment of every record, including its header. */
+    static final int RECORD_ALIGNMENT = 8;
+
+    /** The size of the trailer holding the closed flag and the tail and head positions. */
+    static final int TRAILER_LENGTH = Constants.CACHE_LINE_SIZE << 2;
+
+    private static final int TYPE_OFFSET = 4;
+    private static final int RECORD_TYPE = 1;
+    private static final int PADDING_TYPE = -1;
+
+    private static final int CLOSED_OFFSET = 0;
+    private static final int TAIL_OFFSET = Constants.CACHE_LINE_SIZE;
+    private static final int HEAD_OFFSET = Constants.CACHE_LINE_SIZE * 3;
+
+    private final NativeMemory.Block memory;
+    private final ByteBuffer buffer;
+    private final ByteBuffer readOnlyBuffer;
+    private final int capacity;
+    private final int mask;
+    private final int maxRecordLength;
+    private final long closedOffset;
+    private final long tailOffset;
+    private final long headOffset;
+    private final boolean multiProducer;
+
+    /** Cached value of the last observed head, used by producers to avoid volatile reads. */
+    private long cachedHead;
+
+    /**
+     * Creates a ring over the given block, which the ring owns from then on.
+     *
+     * @param memory        a block of at least {@link #requiredCapacity(int)} bytes, from
+     *                      {@link NativeMemory#allocateBuffer(int)} or {@link NativeMemory#map}
+     * @param capacity      the number of bytes available for records (must be a power of 2)
+     * @param multiProducer whether several producers may claim space concurrently
+     */
+    ByteRingBuffer(NativeMemory.Block memory, int capacity, boolean multiProducer) {
+        this.capacity = Util.assertThatPowerOfTwo(capacity);
+        ByteBuffer view = memory.buffer();
+        if (capacity < Constants.CACHE_LINE_SIZE || view.capacity() < requiredCapacity(capacity)) {
+            throw new IllegalArgumentException("Buffer is too small for capacity " + capacity);
+        }
+        this.memory = memory;
+        this.mask = capacity - 1;
+        this.maxRecordLength = (capacity >> 3) - HEADER_LENGTH;
+        this.closedOffset = capacity + CLOSED_OFFSET;
+        this.tailOffset = capacity + TAIL_OFFSET;
+        this.headOffset = capacity + HEAD_OFFSET;
+        this.multiProducer = multiProducer;
+        this.buffer = view.limit(capacity).slice();
+        this.readOnlyBuffer = this.buffer.asReadOnlyBuffer();
+        this.cachedHead = memory.getLongVolatile(headOffset);
+    }
+
+    /**
+     * Releases or unmaps the memory of the ring. The ring must not be used afterwards.
+     */
+    void free() {
+        memory.free();
+    }
+
+    /**
+     * Returns the number of bytes a buffer must have to hold a ring of the given capacity.
+     *
+     * @param capacity the number of bytes available for records
+     * @return the capacity plus the trailer length
+     */
+    static int requiredCapacity(int capacity) {
+        return capacity + TRAILER_LENGTH;
+    }
+
+    private static int align(int length) {
+        return (length + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+    }
+
+    private int checkLength(int length) {
+        if (length < 0 || length > maxRecordLength) {
+            throw new IllegalArgumentException("Record length " + length + " is out of range [0, " + maxRecordLength + "]");
+        }
+        return length;
+    }
+
+    int maxRecordLength() {
+        return maxRecordLength;
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Marks the ring as closed. The flag is stored in the ring itself, so a ring
+     * shared through a file stays closed for every process attached to it.
+     */
+    void close() {
+        memory.putIntVolatile(closedOffset, 1);
+    }
+
+    boolean isClosed() {
+        return memory.getIntVolatile(closedOffset) != 0;
+    }
+
+    /**
+     * Tells whether the consumer has handled every record claimed so far.
+     *
+     * @return {@code true} if the head has caught up with the tail
+     */
+    boolean isDrained() {
+        return memory.getLongVolatile(headOffset) == memory.getLongVolatile(tailOffset);
+    }
+
+    /**
+     * Tells whether the ring is closed and every claimed record has been consumed.
+     * A record claimed but not yet committed keeps the ring incomplete.
+     *
+     * @return {@code true} once no more records can be read
+     */
+    boolean isCompleted() {
+        return isClosed() && isDrained();
+    }
+
+    private void awaitCapacity(Coordinator coordinator, long next) {
+        long wrapPoint = next - capacity;
+        if (wrapPoint > cachedHead) {
+            long head;
+            for (int attempt = 0; wrapPoint > (head = memory.getLongVolatile(headOffset)); attempt++) {
+                coordinator.producerWait(attempt);
+            }
+            this.cachedHead = head;
+        }
+    }
+
+    private boolean hasCapacity(long next) {
+        long wrapPoint = next - capacity;
+        return wrapPoint <= cachedHead || wrapPoint <= (this.cachedHead = memory.getLongVolatile(headOffset));
+    }
+
+    private void writePadding(int index, int length) {
+        memory.putInt(index + TYPE_OFFSET, PADDING_TYPE);
+        memory.putIntRelease(index, length);
+    }
+
+    private int reserve(int index, int recordLength) {
+        memory.putInt(index + TYPE_OFFSET, RECORD_TYPE);
+        memory.putInt(index, -recordLength);
+        return index + HEADER_LENGTH;
+    }
+
+    /**
+     * Claims space for a record of {@code length} bytes, waiting for free capacity
+     * according to the producer wait strategy.
+     *
+     * @param coordinator the coordinator applying the producer wait strategy
+     * @param length      the payload length in bytes
+     * @return the index of the first payload byte within {@link #buffer()}
+     */
+    int claim(Coordinator coordinator, int length) {
+        int recordLength = checkLength(length) + HEADER_LENGTH;
+        int alignedLength = align(recordLength);
+        return multiProducer ? claimMulti(coordinator, recordLength, alignedLength) : claimSingle(coordinator, recordLength, alignedLength);
+    }
+
+    private int claimSingle(Coordinator coordinator, int recordLength, int alignedLength) {
+        long position = memory.getLong(tailOffset);
+        int index = (int) (position & mask);
+        int remaining = capacity - index;
+        int padding = remaining < alignedLength ? remaining : 0;
+        long next = position + padding + alignedLength;
+
+        awaitCapacity(coordinator, next);
+        if (padding != 0) {
+            writePadding(index, padding);
+            index = 0;
+        }
+        memory.putLongRelease(tailOffset, next);
+        return reserve(index, recordLength);
+    }
+
+    private int claimMulti(Coordinator coordinator, int recordLength, int alignedLength) {
+        while (true) {
+            long position = memory.getAndAddLong(tailOffset, alignedLength);
+            awaitCapacity(coordinator, position + alignedLength);
+
+            int index = (int) (position & mask);
+            int remaining = capacity - index;
+            if (remaining >= alignedLength) {
+                return reserve(index, recordLength);
+            }
+
+            writePadding(index, remaining);
+            writePadding(0, alignedLength - remaining);
+        }
+    }
+
+    /**
+     * Attempts to claim space for a record of {@code length} bytes without waiting.
+     *
+     * @param length the payload length in bytes
+     * @return the index of the first payload byte within {@link #buffer()},
+     *         or {@code -1} if the ring does not have enough free capacity
+     */
+    int tryClaim(int length) {
+        int recordLength = checkLength(length) + HEADER_LENGTH;
+        int alignedLength = align(recordLength);
+        long position;
+        long next;
+        int index;
+        int padding;
+
+        do {
+            position = memory.getLongVolatile(tailOffset);
+            index = (int) (position & mask);
+            int remaining = capacity - index;
+            padding = remaining < alignedLength ? remaining : 0;
+            next = position + padding + alignedLength;
+
+            if (!hasCapacity(next)) {
+                return -1;
+            }
+        } while (!memory.compareAndSetLong(tailOffset, position, next));
+
+        if (padding != 0) {
+            writePadding(index, padding);
+            index = 0;
+        }
+        return reserve(index, recordLength);
+    }
+
+    /**
+     * Publishes a previously claimed record with release semantics.
+     *
+     * @param offset the payload index returned by {@link #claim(Coordinator, int)}
+     */
+    void commit(int offset) {
+        long header = offset - HEADER_LENGTH;
+        memory.putIntRelease(header, -memory.getInt(header));
+    }
+
+    /**
+     * Copies {@code length} bytes from {@code src} into a newly claimed record and commits it.
+     */
+    void push(Coordinator coordinator, byte[] src, int offset, int length) {
+        int index = claim(coordinator, length);
+        memory.copyFrom(src, offset, index, length);
+        commit(index);
+    }
+
+    /**
+     * Hands up to {@code limit} committed records, in order, to the given handler.
+     * <p>
+     * Padding records are skipped and do not count towards the limit. Consumed
+     * bytes are zeroed and the head is advanced once, after the whole batch.
+     * </p>
+     *
+     * @param limit   the maximum number of records to handle
+     * @param handler the handler receiving each record
+     * @return the number of records handled
+     */
+    int read(int limit, RecordHandler handler) {
+        long head = memory.getLong(headOffset);
+        long position = head;
+        int count = 0;
+
+        while (count < limit) {
+            int index = (int) (position & mask);
+            int recordLength = memory.getIntVolatile(index);
+            if (recordLength <= 0) {
+                break;
+            }
+
+            int alignedLength = align(recordLength);
+            if (memory.getInt(index + TYPE_OFFSET) == RECORD_TYPE) {
+                handle(handler, index + HEADER_LENGTH, recordLength - HEADER_LENGTH, position);
+                count++;
+            }
+            memory.fill(index, alignedLength, (byte) 0);
+            position += alignedLength;
+        }
+
+        if (position != head) {
+            memory.putLongRelease(headOffset, position);
+        }
+        return count;
+    }
+
+    private void handle(RecordHandler handler, int offset, int length, long position) {
+        try {
+            handler.onRecord(readOnlyBuffer, offset, length);
+        } catch (Throwable ex) {
+            LOGGER.log(Level.WARNING, "Error while processing record at position " + position + ", length " + length, ex);
+        }
+    }
+}
@@ -1,6 +1,17 @@
 package io.github.ryntric;
 
 
+import io.github.ryntric.util.Util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 /**
@@ -15,10 +26,33 @@ import java.util.function.Consumer;
  * </p>
  *
  * <p>Producers publish items using {@link #push(Object)} or {@link #push(Object[])}.
+ * Producers that must never stall can use {@link #tryPush(Object)} or
+ * {@link #tryPush(Object[])}, which fail fast when the channel is full.
+ * Channels created with an {@link EventFactory} are preallocated: producers
+ * {@link #claim()} a slot, mutate the event returned by {@link #get(long)} in place
+ * and {@link #publish(long)} it, so publishing allocates nothing. The two modes do not
+ * mix: pushing to a preallocated channel, or claiming a slot of any other channel,
+ * fails with {@link IllegalStateException}.
  * Consumers retrieve items using {@link #receive(int, Consumer)} or
- * {@link #blockingReceive(int, Consumer)}.
+ * {@link #blockingReceive(int, Consumer)}, with a {@link BatchHandler} when they
+ * need to know where a batch ends, or copy them in bulk into an array
+ * with {@link #drain(Object[], int, int)} or {@link #blockingDrain(Object[], int, int)}.
  * The {@link Coordinator} controls the wait strategies for both sides, allowing
- * fine-grained tuning of CPU utilization and latency characteristics.</p>
+ * fine-grained tuning of CPU utilization and latency characteristics.
+ * Optional settings, such as {@link ChannelMetrics}, are passed as {@link ChannelOptions}.</p>
+ *
+ * <p>A multicast ring, created with {@link #spmulticast(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ConsumerGroupType...)}
+ * or {@link #mpmulticast(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ConsumerGroupType...)},
+ * delivers every item to several independent consumer groups without copying it.
+ * The groups may also form a pipeline of {@link ConsumerStage}s, where a stage only
+ * sees the items its upstream stages have handled.</p>
+ *
+ * <p>A channel is {@link AutoCloseable}: {@link #close()} ends the stream, and
+ * {@link #free()} releases the off-heap memory of multi-producer, multi-consumer and
+ * sampled channels once nothing uses the channel anymore. Channels that are never
+ * freed release it when they become unreachable, see {@link NativeMemory}. A channel
+ * with {@link ChannelMetrics} is kept reachable by the MBean server until it is freed,
+ * so it must be freed.</p>
  *
  * Usage Example
  * <pre>{@code
@@ -42,13 +76,126 @@ import java.util.function.Consumer;
  * @see Poller
  * @see Coordinator
  */
-public final class Channel<T> {
+public final class Channel<T> implements AutoCloseable {
     private final Coordinator coordinator;
     private final RingBuffer<T> ringBuffer;
+    private final ChannelMetrics metrics;
 
     private Channel(Coordinator coordinator, RingBuffer<T> ringBuffer) {
+        this(coordinator, ringBuffer, null);
+    }
+
+    private Channel(Coordinator coordinator, RingBuffer<T> ringBuffer, ChannelMetrics metrics) {
         this.coordinator = coordinator;
         this.ringBuffer = ringBuffer;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the runtime metrics of this channel.
+     *
+     * @return the metrics, or {@code null} if the channel was created without
+     *         {@link ChannelOptions#metrics(String)}
+     */
+    public ChannelMetrics metrics() {
+        return metrics;
+    }
+
+    private void ensureOpen() {
+        if (ringBuffer.isClosed()) {
+            throw new IllegalStateException("Channel is closed");
+        }
+    }
+
+    private void ensureReferences() {
+        if (ringBuffer.isPreallocated()) {
+            throw new IllegalStateException("Channel is preallocated, claim and publish its events instead of pushing");
+        }
+    }
+
+    private void ensurePreallocated() {
+        if (!ringBuffer.isPreallocated()) {
+            throw new IllegalStateException("Channel is not preallocated, push items instead of claiming slots");
+        }
+    }
+
+    /**
+     * Closes the channel to producers and wakes every waiting producer and consumer.
+     * <p>
+     * Later pushes and claims fail with {@link IllegalStateException}; slots already
+     * claimed may still be published. Consumers keep receiving the items left in the
+     * channel, after which the blocking receive methods report the end of the stream
+     * instead of waiting. A push racing with {@code close()}, including one still
+     * waiting for free capacity, may be accepted or rejected; in a single-producer
+     * channel an item accepted after consumers have reported the end of the stream
+     * stays in the channel, while multi-producer channels deliver every item whose slot
+     * was claimed before consumers reached it. Closing a channel of a multicast ring closes the ring.
+     * Closing a closed channel has no effect.
+     * </p>
+     *
+     * @see #awaitDrained(long, TimeUnit)
+     * @see #free()
+     */
+    @Override
+    public void close() {
+        ringBuffer.close();
+        coordinator.close();
+    }
+
+    /**
+     * Tells whether the channel has been closed.
+     *
+     * @return {@code true} if {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return ringBuffer.isClosed();
+    }
+
+    /**
+     * Waits until consumers have handled every item pushed so far, but no longer than
+     * the given timeout.
+     * <p>
+     * Combined with {@link #close()}, this hands the remaining items over to the
+     * consumers before a shutdown proceeds. The caller waits according to the producer
+     * wait strategy, as a producer waiting for free capacity would. For a channel of a
+     * multicast ring, only its own consumer group is awaited.
+     * </p>
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of {@code timeout}
+     * @return {@code true} if every item has been handled, {@code false} if the timeout elapsed first
+     */
+    public boolean awaitDrained(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !ringBuffer.isDrained(); attempt++) {
+            if (!coordinator.producerWait(attempt, deadline)) {
+                return ringBuffer.isDrained();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes the channel and releases its off-heap memory.
+     * <p>
+     * Consumers that find the channel drained no longer touch that memory, so they may
+     * keep polling and will report the end of the stream. Producers, however, must
+     * have returned from their last push or publish: one racing with {@code free()}
+     * would write to released memory. For a channel of a multicast ring, every consumer
+     * group must be drained, and the whole ring is released. The {@link ChannelMetrics}
+     * of the channel, if any, are unregistered. Freeing a freed channel has no effect.
+     * </p>
+     *
+     * @throws IllegalStateException if consumers have not handled every item yet
+     * @see #awaitDrained(long, TimeUnit)
+     * @see NativeMemory
+     */
+    public void free() {
+        close();
+        ringBuffer.free();
+        if (metrics != null) {
+            metrics.unregister();
+        }
     }
 
     /**
@@ -60,8 +207,11 @@ public final class Channel<T> {
      * </p>
      *
      * @param item the item to push into the channel
+     * @throws IllegalStateException if the channel is closed or preallocated
      */
     public void push(T item) {
+        ensureOpen();
+        ensureReferences();
         ringBuffer.push(coordinator, item);
         coordinator.wakeupConsumer();
     }
@@ -74,12 +224,200 @@ public final class Channel<T> {
      * </p>
      *
      * @param items the array of items to push
+     * @throws IllegalStateException if the channel is closed or preallocated
      */
     public void push(T[] items) {
+        ensureOpen();
+        ensureReferences();
         ringBuffer.push(coordinator, items);
         coordinator.wakeupConsumer();
     }
 
+    /**
+     * Pushes a single item into the channel, waiting for free capacity no longer
+     * than the given timeout.
+     * <p>
+     * The producer wait strategy is applied until either a slot becomes available
+     * or the timeout elapses. On timeout nothing is claimed, so no unpublished
+     * sequence is left behind for consumers to stall on.
+     * </p>
+     *
+     * @param item    the item to push into the channel
+     * @param timeout the maximum time to wait for free capacity
+     * @param unit    the time unit of the {@code timeout} argument
+     * @return {@code true} if the item was published, {@code false} if the timeout elapsed
+     * @throws IllegalStateException if the channel is closed or preallocated
+     */
+    public boolean push(T item, long timeout, TimeUnit unit) {
+        ensureOpen();
+        ensureReferences();
+        if (ringBuffer.push(coordinator, item, System.nanoTime() + unit.toNanos(timeout))) {
+            coordinator.wakeupConsumer();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Pushes multiple items into the channel as a batch, waiting for free capacity
+     * no longer than the given timeout.
+     * <p>
+     * Either the whole batch is published or, on timeout, none of it is.
+     * </p>
+     *
+     * @param items   the array of items to push
+     * @param timeout the maximum time to wait for free capacity
+     * @param unit    the time unit of the {@code timeout} argument
+     * @return {@code true} if the batch was published, {@code false} if the timeout elapsed
+     * @throws IllegalStateException if the channel is closed or preallocated
+     */
+    public boolean push(T[] items, long timeout, TimeUnit unit) {
+        ensureOpen();
+        ensureReferences();
+        if (ringBuffer.push(coordinator, items, System.nanoTime() + unit.toNanos(timeout))) {
+            coordinator.wakeupConsumer();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Attempts to push a single item into the channel without waiting.
+     * <p>
+     * Unlike {@link #push(Object)}, this method never applies the producer
+     * wait strategy. If the channel has no free capacity, the item is rejected
+     * and nothing is claimed. On success the consumer is signalled via
+     * {@link Coordinator#wakeupConsumer()}.
+     * </p>
+     *
+     * @param item the item to push into the channel
+     * @return {@code true} if the item was published, {@code false} if the channel is full
+     * @throws IllegalStateException if the channel is closed or preallocated
+     */
+    public boolean tryPush(T item) {
+        ensureOpen();
+        ensureReferences();
+        if (ringBuffer.tryPush(item)) {
+            coordinator.wakeupConsumer();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Attempts to push multiple items into the channel as a batch without waiting.
+     * <p>
+     * The batch is published atomically with respect to capacity: either all
+     * items are accepted or none of them are. If the channel does not have
+     * room for the whole batch, this method returns {@code false} immediately.
+     * </p>
+     *
+     * @param items the array of items to push
+     * @return {@code true} if the batch was published, {@code false} if the channel lacks capacity
+     * @throws IllegalStateException if the channel is closed or preallocated
+     */
+    public boolean tryPush(T[] items) {
+        ensureOpen();
+        ensureReferences();
+        if (ringBuffer.tryPush(items)) {
+            coordinator.wakeupConsumer();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Claims the next slot of a preallocated channel, waiting for free capacity
+     * according to the producer wait strategy.
+     * <p>
+     * The event stored at the returned sequence can be obtained with {@link #get(long)}
+     * and mutated in place. Every claimed sequence must be published with
+     * {@link #publish(long)}, otherwise consumers stall on it.
+     * </p>
+     *
+     * @return the claimed sequence
+     * @throws IllegalStateException if the channel is closed or not preallocated
+     */
+    public long claim() {
+        ensureOpen();
+        ensurePreallocated();
+        return ringBuffer.claim(coordinator, 1);
+    }
+
+    /**
+     * Claims the next {@code n} slots of a preallocated channel, waiting for free
+     * capacity according to the producer wait strategy.
+     * <p>
+     * The claimed range is {@code [high - n + 1, high]} and must be published with
+     * {@link #publish(long, long)}.
+     * </p>
+     *
+     * @param n the number of slots to claim
+     * @return the highest claimed sequence
+     * @throws IllegalStateException if the channel is closed or not preallocated
+     */
+    public long claim(int n) {
+        ensureOpen();
+        ensurePreallocated();
+        return ringBuffer.claim(coordinator, n);
+    }
+
+    /**
+     * Attempts to claim the next slot of a preallocated channel without waiting.
+     *
+     * @return the claimed sequence, or {@code -1} if the channel is full
+     * @throws IllegalStateException if the channel is closed or not preallocated
+     */
+    public long tryClaim() {
+        ensureOpen();
+        ensurePreallocated();
+        return ringBuffer.tryClaim(1);
+    }
+
+    /**
+     * Returns the event stored at the given sequence.
+     * <p>
+     * Producers use this method to access a slot after {@link #claim()}. In a
+     * preallocated channel the returned event is reused once the ring wraps, so
+     * neither producers nor consumers may retain it after publishing or handling it.
+     * </p>
+     *
+     * @param sequence a sequence previously returned by {@link #claim()}
+     * @return the event stored at the given sequence
+     * @throws IllegalStateException if the channel is not preallocated
+     */
+    public T get(long sequence) {
+        ensurePreallocated();
+        return ringBuffer.get(sequence);
+    }
+
+    /**
+     * Publishes a previously claimed slot and signals the consumer via
+     * {@link Coordinator#wakeupConsumer()}.
+     *
+     * @param sequence the sequence to publish
+     * @throws IllegalStateException if the channel is not preallocated
+     */
+    public void publish(long sequence) {
+        ensurePreallocated();
+        ringBuffer.publish(sequence);
+        coordinator.wakeupConsumer();
+    }
+
+    /**
+     * Publishes a previously claimed range of slots and signals the consumer via
+     * {@link Coordinator#wakeupConsumer()}.
+     *
+     * @param low  the first sequence of the range (inclusive)
+     * @param high the last sequence of the range (inclusive)
+     * @throws IllegalStateException if the channel is not preallocated
+     */
+    public void publish(long low, long high) {
+        ensurePreallocated();
+        ringBuffer.publish(low, high);
+        coordinator.wakeupConsumer();
+    }
+
     /**
      * Attempts to receive up to {@code batchsize} items from the channel and
      * process them using the given {@link Consumer}.
@@ -92,7 +430,9 @@ public final class Channel<T> {
      * @param consumer  the consumer function used to process received items
      */
     public void receive(int batchsize, Consumer<T> consumer) {
-        ringBuffer.poll(batchsize, consumer);
+        if (ringBuffer.poll(batchsize, consumer) == PollerState.PROCESSING) {
+            coordinator.wakeupProducer();
+        }
     }
 
     /**
@@ -101,50 +441,232 @@ public final class Channel<T> {
      * <p>
      * This method blocks using the {@link ConsumerWaitStrategy} defined in
      * the {@link Coordinator}. It is suitable for dedicated consumer threads.
+     * Once the channel is {@linkplain #close() closed} and no items are left, it
+     * returns {@code false} instead of waiting, so a consumer loop can be written as
+     * {@code while (channel.blockingReceive(batchsize, consumer))}.
      * </p>
      *
      * @param batchsize the maximum number of items to consume in one iteration
      * @param consumer  the consumer function used to process received items
+     * @return {@code true} if items were processed, {@code false} at the end of the stream
      */
-    public void blockingReceive(int batchsize, Consumer<T> consumer) {
-        while (ringBuffer.poll(batchsize, consumer) == PollerState.IDLE) {
-            coordinator.consumerWait();
+    public boolean blockingReceive(int batchsize, Consumer<T> consumer) {
+        for (int attempt = 0; ringBuffer.poll(batchsize, consumer) == PollerState.IDLE; attempt++) {
+            if (ringBuffer.isCompleted()) {
+                if (ringBuffer.poll(batchsize, consumer) == PollerState.IDLE) {
+                    return false;
+                }
+                break;
+            }
+            coordinator.consumerWait(attempt);
         }
+        coordinator.wakeupProducer();
+        return true;
     }
 
-    private static ProducerWaitStrategy createProducerWaitStrategy(ProducerWaitStrategyType type) {
-        ProducerWaitStrategy strategy = null;
-        switch (type) {
-            case PARKING:
-                strategy = new ProducerParkingStrategy();
-                break;
-            case SPINNING:
-                strategy = new ProducerSpinningStrategy();
-                break;
-            case YIELDING:
-                strategy = new ProducerYieldingStrategy();
+    /**
+     * Waits until at least one item is available, then hands up to {@code batchsize}
+     * items to the consumer, unless {@code running} turns {@code false} while waiting.
+     * Callers that flip the flag wake the waiter with {@link #wakeupConsumers()}.
+     *
+     * @return {@code true} if items were received, {@code false} if waiting was given up
+     *         or at the end of the stream
+     */
+    boolean blockingReceive(int batchsize, Consumer<T> consumer, BooleanSupplier running) {
+        for (int attempt = 0; ringBuffer.poll(batchsize, consumer) == PollerState.IDLE; attempt++) {
+            if (!running.getAsBoolean()) {
+                return false;
+            }
+            if (ringBuffer.isCompleted()) {
+                if (ringBuffer.poll(batchsize, consumer) == PollerState.IDLE) {
+                    return false;
+                }
                 break;
+            }
+            coordinator.consumerWait(attempt);
+        }
+        coordinator.wakeupProducer();
+        return true;
+    }
+
+    /**
+     * Wakes every consumer waiting for items, so it can re-check why it waits. With a
+     * strategy that {@linkplain #wakesSingleConsumer() wakes a single consumer}, only
+     * one of them wakes.
+     */
+    void wakeupConsumers() {
+        coordinator.wakeupConsumer();
+    }
+
+    /**
+     * Tells whether {@link #wakeupConsumers()} wakes a single waiting consumer, which
+     * may not be the one meant.
+     */
+    boolean wakesSingleConsumer() {
+        return coordinator.wakesSingleConsumer();
+    }
+
+    /**
+     * Returns the number of items that can be pushed before producers have to wait,
+     * as seen by the calling thread. The value may be stale by the time it is used.
+     */
+    long remainingCapacity() {
+        return ringBuffer.remainingCapacity();
+    }
+
+    /**
+     * Attempts to receive up to {@code batchsize} items from the channel and
+     * process them as one batch using the given {@link BatchHandler}.
+     * <p>
+     * This method is non-blocking and returns immediately, even if no items are
+     * available. The handler is told the size of the batch up front and which
+     * item ends it, so it can flush its own buffers once per call.
+     * </p>
+     *
+     * @param batchsize the maximum number of items to consume in one batch
+     * @param handler   the handler used to process received items
+     */
+    public void receive(int batchsize, BatchHandler<T> handler) {
+        if (ringBuffer.poll(batchsize, handler) == PollerState.PROCESSING) {
+            coordinator.wakeupProducer();
         }
-        return strategy;
     }
 
-    private static ConsumerWaitStrategy createConsumerWaitStrategy(ConsumerWaitStrategyType type) {
-        ConsumerWaitStrategy strategy = null;
-        switch (type) {
-            case PARKING:
-                strategy = new ConsumerParkingStrategy();
+    /**
+     * Continuously waits until at least one item is available to consume, then
+     * processes up to {@code batchsize} items as one batch using the provided
+     * {@link BatchHandler}.
+     *
+     * @param batchsize the maximum number of items to consume in one iteration
+     * @param handler   the handler used to process received items
+     * @return {@code true} if items were processed, {@code false} at the end of the stream
+     * @see #blockingReceive(int, Consumer)
+     */
+    public boolean blockingReceive(int batchsize, BatchHandler<T> handler) {
+        for (int attempt = 0; ringBuffer.poll(batchsize, handler) == PollerState.IDLE; attempt++) {
+            if (ringBuffer.isCompleted()) {
+                if (ringBuffer.poll(batchsize, handler) == PollerState.IDLE) {
+                    return false;
+                }
                 break;
-            case SPINNING:
-                strategy = new ConsumerSpinningStrategy();
+            }
+            coordinator.consumerWait(attempt);
+        }
+        coordinator.wakeupProducer();
+        return true;
+    }
+
+    /**
+     * Copies up to {@code max} available items into {@code dst}, starting at {@code offset}.
+     * <p>
+     * This method is non-blocking and returns immediately, even if no items are
+     * available. Items are copied straight out of the ring without invoking a
+     * callback per item, which suits consumers that hand whole arrays to batched
+     * processing.
+     * </p>
+     *
+     * @param dst    the destination array
+     * @param offset the index in {@code dst} of the first copied item
+     * @param max    the maximum number of items to copy
+     * @return the number of items copied, {@code 0} if none were available
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of {@code dst}
+     */
+    public int drain(T[] dst, int offset, int max) {
+        Objects.checkFromIndexSize(offset, max, dst.length);
+        int count = ringBuffer.drain(dst, offset, max);
+        if (count != 0) {
+            coordinator.wakeupProducer();
+        }
+        return count;
+    }
+
+    /**
+     * Waits until at least one item is available, then copies up to {@code max}
+     * items into {@code dst}, starting at {@code offset}.
+     * <p>
+     * This method waits using the {@link ConsumerWaitStrategy} defined in
+     * the {@link Coordinator}. Once the channel is {@linkplain #close() closed} and
+     * no items are left, it returns {@code 0} instead of waiting.
+     * </p>
+     *
+     * @param dst    the destination array
+     * @param offset the index in {@code dst} of the first copied item
+     * @param max    the maximum number of items to copy
+     * @return the number of items copied, at least {@code 1} when {@code max} is positive,
+     *         unless the end of the stream has been reached
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of {@code dst}
+     */
+    public int blockingDrain(T[] dst, int offset, int max) {
+        Objects.checkFromIndexSize(offset, max, dst.length);
+        int count;
+        for (int attempt = 0; (count = ringBuffer.drain(dst, offset, max)) == 0 && max > 0; attempt++) {
+            if (ringBuffer.isCompleted()) {
+                count = ringBuffer.drain(dst, offset, max);
                 break;
-            case YIELDING:
-                strategy = new ConsumerYieldingStrategy();
+            }
+            coordinator.consumerWait(attempt);
+        }
+        if (count != 0) {
+            coordinator.wakeupProducer();
+        }
+        return count;
+    }
+
+    /**
+     * Waits until at least one item is available to consume, but no longer than the
+     * given timeout, then processes up to {@code batchsize} items using the provided
+     * {@link Consumer}.
+     * <p>
+     * This lets a dedicated consumer loop enforce latency bounds or run periodic work
+     * without a second thread.
+     * </p>
+     *
+     * @param batchsize the maximum number of items to consume in one iteration
+     * @param consumer  the consumer function used to process received items
+     * @param timeout   the maximum time to wait for items
+     * @param unit      the time unit of the {@code timeout} argument
+     * @return {@code true} if items were processed, {@code false} if the timeout elapsed first
+     *         or at the end of the stream
+     */
+    public boolean blockingReceive(int batchsize, Consumer<T> consumer, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ringBuffer.poll(batchsize, consumer) == PollerState.IDLE; attempt++) {
+            if (ringBuffer.isCompleted() || !coordinator.consumerWait(attempt, deadline)) {
+                if (ringBuffer.poll(batchsize, consumer) == PollerState.IDLE) {
+                    return false;
+                }
                 break;
-            case BLOCKING:
-                strategy = new ConsumerBlockingStrategy();
+            }
+        }
+        coordinator.wakeupProducer();
+        return true;
+    }
+
+    /**
+     * Waits until at least one item is available to consume, but no longer than the
+     * given timeout, then processes up to {@code batchsize} items as one batch using
+     * the provided {@link BatchHandler}.
+     *
+     * @param batchsize the maximum number of items to consume in one iteration
+     * @param handler   the handler used to process received items
+     * @param timeout   the maximum time to wait for items
+     * @param unit      the time unit of the {@code timeout} argument
+     * @return {@code true} if items were processed, {@code false} if the timeout elapsed first
+     *         or at the end of the stream
+     * @see #blockingReceive(int, Consumer, long, TimeUnit)
+     */
+    public boolean blockingReceive(int batchsize, BatchHandler<T> handler, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; ringBuffer.poll(batchsize, handler) == PollerState.IDLE; attempt++) {
+            if (ringBuffer.isCompleted() || !coordinator.consumerWait(attempt, deadline)) {
+                if (ringBuffer.poll(batchsize, handler) == PollerState.IDLE) {
+                    return false;
+                }
                 break;
+            }
         }
-        return strategy;
+        coordinator.wakeupProducer();
+        return true;
     }
 
     /**
@@ -158,10 +680,7 @@ public final class Channel<T> {
      * @return a new SPSC {@code Channel}
      */
     public static <T> Channel<T> spsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
-        Coordinator coordinator = new Coordinator(createProducerWaitStrategy(pw), createConsumerWaitStrategy(cw));
-        Sequencer sequencer = new SingleProducerSequencer(capacity);
-        Poller<T> poller = new SingleThreadPoller<>();
-        return new Channel<>(coordinator, new RingBuffer<>(sequencer, poller, capacity));
+        return spsc(capacity, pw, cw, new ChannelOptions());
     }
 
     /**
@@ -175,10 +694,7 @@ public final class Channel<T> {
      * @return a new MPSC {@code Channel}
      */
     public static <T> Channel<T> mpsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
-        Coordinator coordinator = new Coordinator(createProducerWaitStrategy(pw), createConsumerWaitStrategy(cw));
-        Sequencer sequencer = new MultiProducerSequencer(capacity);
-        Poller<T> poller = new SingleThreadPoller<>();
-        return new Channel<>(coordinator, new RingBuffer<>(sequencer, poller, capacity));
+        return mpsc(capacity, pw, cw, new ChannelOptions());
     }
 
     /**
@@ -192,10 +708,7 @@ public final class Channel<T> {
      * @return a new SPMC {@code Channel}
      */
     public static <T> Channel<T> spmc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
-        Coordinator coordinator = new Coordinator(createProducerWaitStrategy(pw), createConsumerWaitStrategy(cw));
-        Sequencer sequencer = new SingleProducerSequencer(capacity);
-        Poller<T> poller = new MultiThreadPoller<>();
-        return new Channel<>(coordinator, new RingBuffer<>(sequencer, poller, capacity));
+        return spmc(capacity, pw, cw, new ChannelOptions());
     }
 
     /**
@@ -209,10 +722,362 @@ public final class Channel<T> {
      * @return a new MPMC {@code Channel}
      */
     public static <T> Channel<T> mpmc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
-        Coordinator coordinator = new Coordinator(createProducerWaitStrategy(pw), createConsumerWaitStrategy(cw));
-        Sequencer sequencer = new MultiProducerSequencer(capacity);
-        Poller<T> poller = new MultiThreadPoller<>();
-        return new Channel<>(coordinator, new RingBuffer<>(sequencer, poller, capacity));
+        return mpmc(capacity, pw, cw, new ChannelOptions());
+    }
+
+    private static <T> Channel<T> create(Sequencer sequencer, Poller poller, int capacity, EventFactory<T> factory,
+                                         ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        ChannelParts parts = new ChannelParts(sequencer, poller, capacity, pw, cw, options);
+        return parts.complete(() -> new Channel<>(parts.coordinator,
+                new RingBuffer<>(parts.sequencer, parts.poller, capacity, parts.metrics, parts.layout, factory), parts.metrics));
+    }
+
+    /**
+     * Creates a new single-producer, single-consumer (SPSC) channel with the given capacity, wait strategies
+     * and options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @param <T>      the element type
+     * @return a new SPSC {@code Channel}
+     */
+    public static <T> Channel<T> spsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        return create(new SingleProducerSequencer(capacity), new SingleThreadPoller(), capacity, null, pw, cw, options);
+    }
+
+    /**
+     * Creates a new multi-producer, single-consumer (MPSC) channel with the given capacity, wait strategies
+     * and options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @param <T>      the element type
+     * @return a new MPSC {@code Channel}
+     */
+    public static <T> Channel<T> mpsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        return create(options.createMultiProducerSequencer(capacity), new SingleThreadPoller(), capacity, null, pw, cw, options);
+    }
+
+    /**
+     * Creates a new single-producer, multi-consumer (SPMC) channel with the given capacity, wait strategies
+     * and options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @param <T>      the element type
+     * @return a new SPMC {@code Channel}
+     */
+    public static <T> Channel<T> spmc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        return create(new SingleProducerSequencer(capacity), options.createMultiThreadPoller(capacity), capacity, null, pw, cw, options);
+    }
+
+    /**
+     * Creates a new multi-producer, multi-consumer (MPMC) channel with the given capacity, wait strategies
+     * and options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @param <T>      the element type
+     * @return a new MPMC {@code Channel}
+     */
+    public static <T> Channel<T> mpmc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        return create(options.createMultiProducerSequencer(capacity), options.createMultiThreadPoller(capacity), capacity, null, pw, cw, options);
+    }
+
+    private static ConsumerStage[] stages(ConsumerGroupType[] groups) {
+        ConsumerStage[] stages = new ConsumerStage[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            stages[i] = ConsumerStage.of(groups[i]);
+        }
+        return stages;
+    }
+
+    private static <T> List<Channel<T>> multicast(AbstractSequencer sequencer, int capacity, ProducerWaitStrategyType pw,
+                                                  ConsumerWaitStrategyType cw, ConsumerStage[] stages) {
+        Util.assertThatPowerOfTwo(capacity);
+        if (stages.length == 0) {
+            throw new IllegalArgumentException("At least one consumer stage is required");
+        }
+        if (cw == ConsumerWaitStrategyType.BLOCKING) {
+            throw new IllegalArgumentException("Consumer wait strategy " + cw + " wakes a single consumer and cannot serve several groups");
+        }
+
+        Map<ConsumerStage, Sequence> sequences = new IdentityHashMap<>();
+        Set<ConsumerStage> upstreamStages = Collections.newSetFromMap(new IdentityHashMap<>());
+        Coordinator coordinator = new Coordinator(pw, cw);
+        T[] buffer = RingBuffer.newBuffer(capacity);
+        List<Channel<T>> channels = new ArrayList<>(stages.length);
+        List<ConsumerGroupSequencer> sequencers = new ArrayList<>(stages.length);
+
+        for (ConsumerStage stage : stages) {
+            if (sequences.containsKey(Objects.requireNonNull(stage))) {
+                throw new IllegalArgumentException("Consumer stage is listed more than once");
+            }
+
+            ConsumerStage[] upstream = stage.getUpstream();
+            Sequence[] barrier = new Sequence[upstream.length];
+            for (int i = 0; i < upstream.length; i++) {
+                barrier[i] = sequences.get(upstream[i]);
+                if (barrier[i] == null) {
+                    throw new IllegalArgumentException("Upstream consumer stage must be listed before the stages depending on it");
+                }
+                upstreamStages.add(upstream[i]);
+            }
+
+            ConsumerGroupSequencer groupSequencer = new ConsumerGroupSequencer(sequencer, barrier);
+            sequences.put(stage, groupSequencer.getGroupSequence());
+            sequencers.add(groupSequencer);
+        }
+
+        List<Sequence> gatingSequences = new ArrayList<>(stages.length);
+        Coordinator upstreamCoordinator = coordinator.withDownstream();
+        for (int i = 0; i < stages.length; i++) {
+            boolean terminal = !upstreamStages.contains(stages[i]);
+            if (terminal) {
+                gatingSequences.add(sequences.get(stages[i]));
+            }
+
+            Poller poller = stages[i].getType() == ConsumerGroupType.SINGLE_THREADED
+                    ? new SingleThreadPoller()
+                    : new MultiThreadPoller(capacity);
+            RingBuffer<T> ringBuffer = new RingBuffer<>(sequencers.get(i), poller, capacity, buffer);
+            channels.add(new Channel<>(terminal ? coordinator : upstreamCoordinator, ringBuffer));
+        }
+
+        sequencer.gateOn(gatingSequences.toArray(new Sequence[0]));
+        return Collections.unmodifiableList(channels);
+    }
+
+    /**
+     * Creates a single-producer multicast ring with one channel per consumer group.
+     * <p>
+     * Every group receives every item pushed to the ring. The returned channels share
+     * the ring and its producer side: an item pushed to any of them is published to
+     * all groups, and producers wait for the slowest group. Each channel only
+     * consumes the items of its own group, in the way selected by its
+     * {@link ConsumerGroupType}.
+     * </p>
+     *
+     * <p>Consumers never clear the shared slots, so an item stays referenced until
+     * its slot is overwritten by a later push. {@link ConsumerWaitStrategyType#BLOCKING}
+     * wakes a single waiting consumer per signal and is therefore rejected;
+     * {@link ConsumerWaitStrategyType#LITE_BLOCKING} and {@link ConsumerWaitStrategyType#PHASED}
+     * wake every waiting consumer.</p>
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type, applied to every group
+     * @param groups   the type of every consumer group
+     * @param <T>      the element type
+     * @return an unmodifiable list holding the channel of every group, in the order of {@code groups}
+     * @throws IllegalArgumentException if no group is given or {@code cw} is {@link ConsumerWaitStrategyType#BLOCKING}
+     */
+    public static <T> List<Channel<T>> spmulticast(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw,
+                                                   ConsumerGroupType... groups) {
+        return multicast(new SingleProducerSequencer(capacity), capacity, pw, cw, stages(groups));
+    }
+
+    /**
+     * Creates a multi-producer multicast ring with one channel per consumer group.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type, applied to every group
+     * @param groups   the type of every consumer group
+     * @param <T>      the element type
+     * @return an unmodifiable list holding the channel of every group, in the order of {@code groups}
+     * @throws IllegalArgumentException if no group is given or {@code cw} is {@link ConsumerWaitStrategyType#BLOCKING}
+     * @see #spmulticast(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ConsumerGroupType...)
+     */
+    public static <T> List<Channel<T>> mpmulticast(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw,
+                                                   ConsumerGroupType... groups) {
+        return multicast(new MultiProducerSequencer(capacity), capacity, pw, cw, stages(groups));
+    }
+
+    /**
+     * Creates a single-producer multicast ring whose consumer groups form the given
+     * graph of stages, with one channel per stage.
+     * <p>
+     * A stage only receives the items all of its upstream stages have handled, and
+     * may therefore rely on their changes to the items. Producers wait for the stages
+     * no other stage depends on. Every stage a stage depends on must be listed before
+     * it.
+     * </p>
+     *
+     * <p>Consumers of a stage wait for their upstream stages using the consumer wait
+     * strategy, and are woken by them after every handled batch. As for every
+     * multicast ring, {@link ConsumerWaitStrategyType#BLOCKING} is rejected.</p>
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type, applied to every stage
+     * @param stages   the consumer stages, upstream stages first
+     * @param <T>      the element type
+     * @return an unmodifiable list holding the channel of every stage, in the order of {@code stages}
+     * @throws IllegalArgumentException if no stage is given, a stage is listed twice or
+     *                                  listed before one of its upstream stages, or
+     *                                  {@code cw} is {@link ConsumerWaitStrategyType#BLOCKING}
+     * @see ConsumerStage
+     */
+    public static <T> List<Channel<T>> spmulticast(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw,
+                                                   ConsumerStage... stages) {
+        return multicast(new SingleProducerSequencer(capacity), capacity, pw, cw, stages);
+    }
+
+    /**
+     * Creates a multi-producer multicast ring whose consumer groups form the given
+     * graph of stages, with one channel per stage.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type, applied to every stage
+     * @param stages   the consumer stages, upstream stages first
+     * @param <T>      the element type
+     * @return an unmodifiable list holding the channel of every stage, in the order of {@code stages}
+     * @throws IllegalArgumentException if no stage is given, a stage is listed twice or
+     *                                  listed before one of its upstream stages, or
+     *                                  {@code cw} is {@link ConsumerWaitStrategyType#BLOCKING}
+     * @see #spmulticast(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ConsumerStage...)
+     */
+    public static <T> List<Channel<T>> mpmulticast(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw,
+                                                   ConsumerStage... stages) {
+        return multicast(new MultiProducerSequencer(capacity), capacity, pw, cw, stages);
+    }
+
+    /**
+     * Creates a new preallocated single-producer, single-consumer (SPSC) channel whose
+     * slots are populated up front by the given {@link EventFactory}.
+     *
+     * @param capacity the size of the ring buffer
+     * @param factory  the factory used to create the event stored in every slot
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param <T>      the element type
+     * @return a new preallocated SPSC {@code Channel}
+     */
+    public static <T> Channel<T> spsc(int capacity, EventFactory<T> factory, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return spsc(capacity, factory, pw, cw, new ChannelOptions());
+    }
+
+    /**
+     * Creates a new preallocated multi-producer, single-consumer (MPSC) channel whose
+     * slots are populated up front by the given {@link EventFactory}.
+     *
+     * @param capacity the size of the ring buffer
+     * @param factory  the factory used to create the event stored in every slot
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param <T>      the element type
+     * @return a new preallocated MPSC {@code Channel}
+     */
+    public static <T> Channel<T> mpsc(int capacity, EventFactory<T> factory, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return mpsc(capacity, factory, pw, cw, new ChannelOptions());
+    }
+
+    /**
+     * Creates a new preallocated single-producer, multi-consumer (SPMC) channel whose
+     * slots are populated up front by the given {@link EventFactory}.
+     *
+     * @param capacity the size of the ring buffer
+     * @param factory  the factory used to create the event stored in every slot
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param <T>      the element type
+     * @return a new preallocated SPMC {@code Channel}
+     */
+    public static <T> Channel<T> spmc(int capacity, EventFactory<T> factory, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return spmc(capacity, factory, pw, cw, new ChannelOptions());
+    }
+
+    /**
+     * Creates a new preallocated multi-producer, multi-consumer (MPMC) channel whose
+     * slots are populated up front by the given {@link EventFactory}.
+     *
+     * @param capacity the size of the ring buffer
+     * @param factory  the factory used to create the event stored in every slot
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param <T>      the element type
+     * @return a new preallocated MPMC {@code Channel}
+     */
+    public static <T> Channel<T> mpmc(int capacity, EventFactory<T> factory, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return mpmc(capacity, factory, pw, cw, new ChannelOptions());
+    }
+
+    /**
+     * Creates a new preallocated single-producer, single-consumer (SPSC) channel whose
+     * slots are populated up front by the given {@link EventFactory}, with the given options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param factory  the factory used to create the event stored in every slot
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @param <T>      the element type
+     * @return a new preallocated SPSC {@code Channel}
+     */
+    public static <T> Channel<T> spsc(int capacity, EventFactory<T> factory, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw,
+                                      ChannelOptions options) {
+        return create(new SingleProducerSequencer(capacity), new SingleThreadPoller(), capacity, Objects.requireNonNull(factory), pw, cw, options);
+    }
+
+    /**
+     * Creates a new preallocated multi-producer, single-consumer (MPSC) channel whose
+     * slots are populated up front by the given {@link EventFactory}, with the given options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param factory  the factory used to create the event stored in every slot
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @param <T>      the element type
+     * @return a new preallocated MPSC {@code Channel}
+     */
+    public static <T> Channel<T> mpsc(int capacity, EventFactory<T> factory, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw,
+                                      ChannelOptions options) {
+        return create(options.createMultiProducerSequencer(capacity), new SingleThreadPoller(), capacity, Objects.requireNonNull(factory), pw, cw, options);
+    }
+
+    /**
+     * Creates a new preallocated single-producer, multi-consumer (SPMC) channel whose
+     * slots are populated up front by the given {@link EventFactory}, with the given options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param factory  the factory used to create the event stored in every slot
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @param <T>      the element type
+     * @return a new preallocated SPMC {@code Channel}
+     */
+    public static <T> Channel<T> spmc(int capacity, EventFactory<T> factory, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw,
+                                      ChannelOptions options) {
+        return create(new SingleProducerSequencer(capacity), options.createMultiThreadPoller(capacity), capacity, Objects.requireNonNull(factory), pw, cw, options);
+    }
+
+    /**
+     * Creates a new preallocated multi-producer, multi-consumer (MPMC) channel whose
+     * slots are populated up front by the given {@link EventFactory}, with the given options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param factory  the factory used to create the event stored in every slot
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @param <T>      the element type
+     * @return a new preallocated MPMC {@code Channel}
+     */
+    public static <T> Channel<T> mpmc(int capacity, EventFactory<T> factory, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw,
+                                      ChannelOptions options) {
+        return create(options.createMultiProducerSequencer(capacity), options.createMultiThreadPoller(capacity), capacity, Objects.requireNonNull(factory), pw, cw, options);
     }
 
 }
@@ -0,0 +1,281 @@
+package io.github.ryntric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} running tasks on a fixed number of
+ * worker threads that take them from an MPMC {@link Channel}.
+ * <p>
+ * Unlike a {@link java.util.concurrent.ThreadPoolExecutor} over a
+ * {@link java.util.concurrent.LinkedBlockingQueue}, submitting a task allocates no
+ * queue node and takes no lock: submitters claim a slot of the ring, and workers
+ * claim batches of up to {@code batchsize} tasks at a time through the
+ * {@link MultiThreadPoller} of the channel. When the ring is full, submitters wait
+ * according to the producer wait strategy; idle workers wait according to the
+ * consumer wait strategy.
+ * </p>
+ *
+ * <p>{@link #shutdown()} stops accepting tasks and closes the channel without waiting,
+ * so it may be called from a task even while the ring is full. The workers run every
+ * task queued before it and exit at the end of the stream. The last worker to exit
+ * frees the channel, so the executor holds no off-heap memory once it
+ * {@linkplain #isTerminated() is terminated}. A task submitted with
+ * {@link #execute(Runnable)} that throws does not terminate its worker; the exception
+ * is logged in the same way as for any other channel consumer.</p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * ExecutorService executor = new ChannelExecutorService(
+ *     4,
+ *     1024,
+ *     ProducerWaitStrategyType.YIELDING,
+ *     ConsumerWaitStrategyType.PHASED
+ * );
+ *
+ * Future<String> result = executor.submit(() -> "Hello");
+ * }</pre>
+ *
+ * @see Channel#mpmc(int, ProducerWaitStrategyType, ConsumerWaitStrategyType)
+ */
+public final class ChannelExecutorService extends AbstractExecutorService {
+    /** The number of tasks a worker claims at most at a time when not configured. */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    /** Set in {@link #ctl} once the executor is shut down. */
+    private static final int SHUTDOWN = Integer.MIN_VALUE;
+
+    private final Channel<Runnable> channel;
+    private final Thread[] workers;
+    private final CountDownLatch termination;
+    /** The number of workers that have not exited yet; the last one frees the channel. */
+    private final AtomicInteger live;
+
+    /** The shutdown flag in the sign bit and the number of submitters inside {@link #execute(Runnable)}. */
+    private final AtomicInteger ctl = new AtomicInteger();
+
+    /**
+     * Creates an executor with workers created by {@link Executors#defaultThreadFactory()}
+     * that claim up to {@link #DEFAULT_BATCH_SIZE} tasks at a time.
+     *
+     * @param threads  the number of worker threads
+     * @param capacity the number of tasks the executor queues at most (must be a power of 2)
+     * @param pw       the wait strategy of submitters while the queue is full
+     * @param cw       the wait strategy of idle workers
+     * @throws IllegalArgumentException if {@code threads} is not positive, or {@code cw} is
+     *                                  {@link ConsumerWaitStrategyType#BLOCKING}
+     */
+    public ChannelExecutorService(int threads, int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        this(threads, capacity, DEFAULT_BATCH_SIZE, pw, cw, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Creates an executor and starts its workers.
+     * <p>
+     * {@link ConsumerWaitStrategyType#BLOCKING} wakes a single idle worker per signal
+     * and is rejected; {@link ConsumerWaitStrategyType#LITE_BLOCKING} or
+     * {@link ConsumerWaitStrategyType#PHASED} let idle workers block instead.
+     * </p>
+     *
+     * @param threads       the number of worker threads
+     * @param capacity      the number of tasks the executor queues at most (must be a power of 2)
+     * @param batchsize     the number of tasks a worker claims at most at a time
+     * @param pw            the wait strategy of submitters while the queue is full
+     * @param cw            the wait strategy of idle workers
+     * @param threadFactory the factory creating the worker threads
+     * @throws IllegalArgumentException if {@code threads} or {@code batchsize} is not positive,
+     *                                  or {@code cw} is {@link ConsumerWaitStrategyType#BLOCKING}
+     */
+    public ChannelExecutorService(int threads, int capacity, int batchsize, ProducerWaitStrategyType pw,
+                                  ConsumerWaitStrategyType cw, ThreadFactory threadFactory) {
+        this(threads, capacity, batchsize, pw, cw, threadFactory, new ChannelOptions());
+    }
+
+    /**
+     * Creates an executor whose channel is created with the given options, for
+     * instance to {@linkplain ChannelOptions#metrics(String) expose its metrics}, and
+     * starts its workers.
+     *
+     * @param threads       the number of worker threads
+     * @param capacity      the number of tasks the executor queues at most (must be a power of 2)
+     * @param batchsize     the number of tasks a worker claims at most at a time
+     * @param pw            the wait strategy of submitters while the queue is full
+     * @param cw            the wait strategy of idle workers
+     * @param threadFactory the factory creating the worker threads
+     * @param options       the optional settings of the channel
+     * @throws IllegalArgumentException if {@code threads} or {@code batchsize} is not positive,
+     *                                  or {@code cw} is {@link ConsumerWaitStrategyType#BLOCKING}
+     * @see Channel#mpmc(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ChannelOptions)
+     */
+    public ChannelExecutorService(int threads, int capacity, int batchsize, ProducerWaitStrategyType pw,
+                                  ConsumerWaitStrategyType cw, ThreadFactory threadFactory, ChannelOptions options) {
+        if (threads <= 0 || batchsize <= 0) {
+            throw new IllegalArgumentException("Threads and batch size must be positive");
+        }
+        if (cw == ConsumerWaitStrategyType.BLOCKING) {
+            throw new IllegalArgumentException("Consumer wait strategy " + cw + " wakes a single worker and cannot serve a pool");
+        }
+
+        this.channel = Channel.mpmc(capacity, pw, cw, options);
+        this.workers = new Thread[threads];
+        this.termination = new CountDownLatch(threads);
+        this.live = new AtomicInteger(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                workers[i] = Objects.requireNonNull(threadFactory.newThread(new Worker(batchsize)), "Thread factory did not create a thread");
+            }
+        } catch (RuntimeException ex) {
+            channel.free();
+            throw ex;
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Runs tasks until the channel is closed and drained, and no submitter is left in
+     * {@link #execute(Runnable)}. A submitter may still claim a slot after the end of
+     * the stream was reported, so the worker keeps receiving until it has left; this
+     * also keeps the last worker from freeing the channel under a submitter.
+     */
+    private final class Worker implements Runnable, Consumer<Runnable> {
+        private final int batchsize;
+
+        Worker(int batchsize) {
+            this.batchsize = batchsize;
+        }
+
+        @Override
+        public void accept(Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (;;) {
+                    // read before receiving: once no submitter is left, a drained channel stays drained
+                    boolean submitting = ctl.get() != SHUTDOWN;
+                    if (!channel.blockingReceive(batchsize, this)) {
+                        if (!submitting) {
+                            break;
+                        }
+                        Thread.yield();
+                    }
+                }
+            } finally {
+                try {
+                    if (live.decrementAndGet() == 0) {
+                        channel.free();
+                    }
+                } finally {
+                    termination.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the task for a worker, waiting for free capacity according to the
+     * producer wait strategy.
+     *
+     * @param command the task to run
+     * @throws RejectedExecutionException if the executor has been shut down, including
+     *                                    while the task was being submitted
+     */
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command);
+        int c;
+        do {
+            if ((c = ctl.get()) < 0) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+        } while (!ctl.compareAndSet(c, c + 1));
+
+        try {
+            channel.push(command);
+        } catch (IllegalStateException ex) {
+            throw new RejectedExecutionException("Executor has been shut down", ex);
+        } finally {
+            ctl.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stops accepting tasks and closes the channel, so the workers exit once they have
+     * run the queued tasks. Submitters still inside {@link #execute(Runnable)} either
+     * have claimed a slot, and their task is run, or are rejected by the closed channel.
+     * Returns without waiting for submitters or workers.
+     */
+    private boolean stop() {
+        int c;
+        do {
+            if ((c = ctl.get()) < 0) {
+                return false;
+            }
+        } while (!ctl.compareAndSet(c, c | SHUTDOWN));
+
+        channel.close();
+        return true;
+    }
+
+    /**
+     * Stops accepting new tasks. Tasks submitted before are still run; a task submitted
+     * concurrently is either run or rejected. Returns without waiting for the queued
+     * tasks, so it may be called from a task.
+     */
+    @Override
+    public void shutdown() {
+        stop();
+    }
+
+    /**
+     * Stops accepting new tasks and removes the queued tasks that no worker has
+     * claimed yet. Workers are interrupted, but tasks already claimed are run.
+     *
+     * @return the tasks that were removed from the queue
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>();
+        if (stop()) {
+            Runnable[] batch = new Runnable[DEFAULT_BATCH_SIZE];
+            int count;
+            while ((count = channel.drain(batch, 0, batch.length)) != 0) {
+                for (int i = 0; i < count; i++) {
+                    pending.add(batch[i]);
+                }
+            }
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return ctl.get() < 0;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return termination.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return termination.await(timeout, unit);
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.ryntric;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime counters of a {@link Channel}, enabled with {@link ChannelOptions#metrics(String)}.
+ * <p>
+ * Counters are {@link LongAdder}s, which stripe contended updates over separate cells,
+ * so producers and consumers recording events do not write to a shared cache line.
+ * The queue depth is not counted at all: it is computed from the sequences whenever it
+ * is read.
+ * </p>
+ *
+ * <p>Metrics are recorded by decorators around the wait strategies, the poller and
+ * the dispatchers of the channel. They are installed only when metrics are enabled,
+ * so a channel without metrics runs exactly the same code as before.</p>
+ *
+ * <p>With {@link ChannelOptions#latencySampling(int)}, every {@code interval}-th item
+ * is also timed from publication to its consumer, see {@link #queueDelay()} and
+ * {@link #handlerTime()}.</p>
+ *
+ * <p>Every instance is registered with the platform {@link MBeanServer} under
+ * {@code io.github.ryntric:type=Channel,name=<name>} when its channel is created and
+ * stays registered until the channel is freed or {@link #unregister()} is called. The
+ * MBean server keeps the metrics, and through them the channel and its off-heap
+ * memory, reachable for that long, so a metered channel must be freed. The name is
+ * free for a new channel afterwards.</p>
+ *
+ * @see ChannelOptions#metrics(String)
+ * @see Channel#metrics()
+ */
+public final class ChannelMetrics implements ChannelMetricsMXBean {
+    private static final int BUCKETS = Integer.SIZE;
+
+    private final String name;
+    private final int capacity;
+    private final Sequencer sequencer;
+    private final ObjectName objectName;
+    private final LatencySampler sampler;
+    private final AtomicBoolean registered = new AtomicBoolean();
+
+    private final LongAdder producerStalls = new LongAdder();
+    private final LongAdder producerWaits = new LongAdder();
+    private final LongAdder consumerIdles = new LongAdder();
+    private final LongAdder consumerWaits = new LongAdder();
+    private final LongAdder idlePolls = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder[] batchSizes = new LongAdder[BUCKETS];
+
+    ChannelMetrics(String name, Sequencer sequencer, int capacity, LatencySampler sampler) {
+        this.name = name;
+        this.capacity = capacity;
+        this.sequencer = sequencer;
+        this.sampler = sampler;
+        this.objectName = createObjectName(name);
+        for (int i = 0; i < BUCKETS; i++) {
+            batchSizes[i] = new LongAdder();
+        }
+    }
+
+    private static ObjectName createObjectName(String name) {
+        try {
+            return new ObjectName("io.github.ryntric:type=Channel,name=" + ObjectName.quote(name));
+        } catch (JMException ex) {
+            throw new IllegalArgumentException("Invalid channel name " + name, ex);
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform {@link MBeanServer}.
+     *
+     * @throws IllegalStateException if metrics with the same name are already registered
+     */
+    void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            registered.set(true);
+        } catch (JMException ex) {
+            throw new IllegalStateException("Cannot register metrics of channel " + name, ex);
+        }
+    }
+
+    /**
+     * Removes these metrics from the platform {@link MBeanServer}. Does nothing if they
+     * are not registered, also if other metrics are registered under the same name.
+     */
+    public void unregister() {
+        if (!registered.compareAndSet(true, false)) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException ex) {
+            throw new IllegalStateException("Cannot unregister metrics of channel " + name, ex);
+        }
+    }
+
+    LatencySampler getLatencySampler() {
+        return sampler;
+    }
+
+    /**
+     * Returns the time sampled items spent in the channel, from being published until
+     * the batch containing them was handed to a consumer.
+     *
+     * @return the queue delay histogram, or {@code null} if latency sampling is disabled
+     */
+    public LatencyHistogram queueDelay() {
+        return sampler == null ? null : sampler.queueDelay();
+    }
+
+    /**
+     * Returns the time consumers spent per item on batches containing sampled items.
+     *
+     * @return the handler time histogram, or {@code null} if latency sampling is disabled
+     */
+    public LatencyHistogram handlerTime() {
+        return sampler == null ? null : sampler.handlerTime();
+    }
+
+    void onProducerWait(int attempt) {
+        if (attempt == 0) {
+            producerStalls.increment();
+        }
+        producerWaits.increment();
+    }
+
+    void onConsumerWait(int attempt) {
+        if (attempt == 0) {
+            consumerIdles.increment();
+        }
+        consumerWaits.increment();
+    }
+
+    void onIdlePoll() {
+        idlePolls.increment();
+    }
+
+    void onBatch(long size) {
+        batches.increment();
+        items.add(size);
+        batchSizes[Long.SIZE - 1 - Long.numberOfLeadingZeros(size)].increment();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getDepth() {
+        long gating = sequencer.getGatingSequenceAcquire();
+        return Long.max(0L, sequencer.getCursorSequenceAcquire() - gating);
+    }
+
+    @Override
+    public long getProducerStalls() {
+        return producerStalls.sum();
+    }
+
+    @Override
+    public long getProducerWaits() {
+        return producerWaits.sum();
+    }
+
+    @Override
+    public long getConsumerIdles() {
+        return consumerIdles.sum();
+    }
+
+    @Override
+    public long getConsumerWaits() {
+        return consumerWaits.sum();
+    }
+
+    @Override
+    public long getIdlePolls() {
+        return idlePolls.sum();
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    @Override
+    public long getItems() {
+        return items.sum();
+    }
+
+    @Override
+    public double getMeanBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0.0 : (double) items.sum() / count;
+    }
+
+    @Override
+    public long[] getBatchSizeHistogram() {
+        long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = batchSizes[i].sum();
+        }
+        return histogram;
+    }
+
+    @Override
+    public LatencySnapshot getQueueDelay() {
+        return sampler == null ? null : sampler.queueDelay().snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getHandlerTime() {
+        return sampler == null ? null : sampler.handlerTime().snapshot();
+    }
+
+    @Override
+    public void reset() {
+        producerStalls.reset();
+        producerWaits.reset();
+        consumerIdles.reset();
+        consumerWaits.reset();
+        idlePolls.reset();
+        batches.reset();
+        items.reset();
+        for (LongAdder bucket : batchSizes) {
+            bucket.reset();
+        }
+        if (sampler != null) {
+            sampler.reset();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.ryntric;
+
+/**
+ * The management interface of {@link ChannelMetrics}, exposed through JMX.
+ *
+ * @see ChannelMetrics
+ */
+public interface ChannelMetricsMXBean {
+
+    /** @return the name the channel is registered under */
+    String getName();
+
+    /** @return the capacity of the channel */
+    int getCapacity();
+
+    /** @return the number of claimed items not yet released by consumers */
+    long getDepth();
+
+    /** @return the number of times a producer found the channel full and started to wait */
+    long getProducerStalls();
+
+    /** @return the number of wait steps taken by producers while the channel was full */
+    long getProducerWaits();
+
+    /** @return the number of times a blocking consumer found the channel empty and started to wait */
+    long getConsumerIdles();
+
+    /** @return the number of wait steps taken by blocking consumers while the channel was empty */
+    long getConsumerWaits();
+
+    /** @return the number of receive or drain calls that found no items */
+    long getIdlePolls();
+
+    /** @return the number of batches handed to consumers */
+    long getBatches();
+
+    /** @return the number of items handed to consumers */
+    long getItems();
+
+    /** @return the average number of items per batch, {@code 0} if no batch was handed out yet */
+    double getMeanBatchSize();
+
+    /**
+     * Returns the distribution of batch sizes. Element {@code i} counts the batches
+     * of {@code 2^i} to {@code 2^(i+1) - 1} items.
+     *
+     * @return the batch size histogram
+     */
+    long[] getBatchSizeHistogram();
+
+    /** @return the queue delay of sampled items in nanoseconds, {@code null} if latency sampling is disabled */
+    LatencySnapshot getQueueDelay();
+
+    /** @return the handler time per sampled item in nanoseconds, {@code null} if latency sampling is disabled */
+    LatencySnapshot getHandlerTime();
+
+    /** Resets all counters to zero. */
+    void reset();
+}
@@ -0,0 +1,160 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.Util;
+
+import java.util.Objects;
+
+/**
+ * Optional settings of a {@link Channel}, passed to the factory methods that accept them.
+ * <p>
+ * Every setting has a default, so only the settings that differ need to be set:
+ * </p>
+ * <pre>{@code
+ * Channel<Order> channel = Channel.mpsc(
+ *     1024,
+ *     ProducerWaitStrategyType.YIELDING,
+ *     ConsumerWaitStrategyType.PHASED,
+ *     new ChannelOptions()
+ *         .phasedBackoff(new PhasedBackoff(20_000, 100, 1_000, 1_000_000))
+ *         .metrics("orders")
+ *         .latencySampling(1024)
+ * );
+ * }</pre>
+ *
+ * <p>An instance may be reused to create several channels, but not while it is being
+ * modified.</p>
+ *
+ * @see Channel#mpsc(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ChannelOptions)
+ */
+public final class ChannelOptions {
+    private PhasedBackoff phasedBackoff = PhasedBackoff.defaults();
+    private String metricsName;
+    private int latencySamplingInterval;
+    private boolean alignedMemory;
+    private boolean spreadSlots;
+
+    /**
+     * Sets the thresholds of {@code PHASED} wait strategies.
+     * Defaults to {@link PhasedBackoff#defaults()}.
+     *
+     * @param phasedBackoff the thresholds applied if a side of the channel is {@code PHASED}
+     * @return these options
+     */
+    public ChannelOptions phasedBackoff(PhasedBackoff phasedBackoff) {
+        this.phasedBackoff = Objects.requireNonNull(phasedBackoff);
+        return this;
+    }
+
+    /**
+     * Enables {@link ChannelMetrics} and registers them as an MBean under the given name.
+     * The MBean keeps the channel reachable until {@link Channel#free()} unregisters it,
+     * so a metered channel must be freed. Metrics are disabled by default.
+     *
+     * @param name the name identifying the channel in JMX
+     * @return these options
+     */
+    public ChannelOptions metrics(String name) {
+        this.metricsName = Objects.requireNonNull(name);
+        return this;
+    }
+
+    /**
+     * Enables sampled latency histograms, reported by {@link ChannelMetrics#queueDelay()}
+     * and {@link ChannelMetrics#handlerTime()}. One in every {@code interval} items is
+     * timestamped when it is published and measured when it is handed to a consumer;
+     * items taken with {@code drain} are not measured. Requires {@link #metrics(String)}.
+     * Sampling is disabled by default.
+     *
+     * @param interval the distance between sampled items (must be a power of 2)
+     * @return these options
+     * @throws IllegalArgumentException if {@code interval} is not a power of 2
+     */
+    public ChannelOptions latencySampling(int interval) {
+        this.latencySamplingInterval = Util.assertThatPowerOfTwo(interval);
+        return this;
+    }
+
+    /**
+     * Allocates the off-heap memory of the channel, the availability flags of a
+     * multi-producer channel, the completion flags of a multi-consumer channel and the
+     * timestamps of latency sampling, on whole, page-aligned pages. Slots then start on
+     * cache line boundaries, and no line or page of the channel is shared with an
+     * unrelated allocation. The memory is written in full when the channel is created
+     * either way, so the first laps of the ring do not take page faults. Costs up to two
+     * pages per allocation; disabled by default. On Java 22 and later the page size is
+     * not read from the platform: it is 4096 bytes unless the
+     * {@code io.github.ryntric.pageSize} system property says otherwise.
+     *
+     * @return these options
+     * @see NativeMemory
+     */
+    public ChannelOptions alignedMemory() {
+        this.alignedMemory = true;
+        return this;
+    }
+
+    /**
+     * Maps consecutive sequences to slots on different cache lines, in the item slots of
+     * the channel, the availability flags of a multi-producer channel and the completion
+     * flags of a multi-consumer channel. Producers, or consumers, working on neighbouring
+     * sequences then stop invalidating each other's cache lines. In exchange a batch
+     * touches one line per item instead of one per sixteen items, so the layout pays off
+     * with several producers pushing single items rather than with batches. Has no effect
+     * on rings of up to 16 slots; disabled by default.
+     *
+     * @return these options
+     */
+    public ChannelOptions spreadSlots() {
+        this.spreadSlots = true;
+        return this;
+    }
+
+    PhasedBackoff getPhasedBackoff() {
+        return phasedBackoff;
+    }
+
+    /**
+     * Creates the sequencer of a new multi-producer channel.
+     */
+    MultiProducerSequencer createMultiProducerSequencer(int capacity) {
+        return new MultiProducerSequencer(capacity, alignedMemory, createSlotLayout(capacity));
+    }
+
+    /**
+     * Creates the poller of a new multi-consumer channel.
+     */
+    MultiThreadPoller createMultiThreadPoller(int capacity) {
+        return new MultiThreadPoller(capacity, alignedMemory, createSlotLayout(capacity));
+    }
+
+    /**
+     * Creates the slot layout of a new channel.
+     */
+    SlotLayout createSlotLayout(int capacity) {
+        return spreadSlots ? SlotLayout.spread(capacity) : SlotLayout.packed(capacity);
+    }
+
+    /**
+     * Creates the metrics of a new channel, or returns {@code null} if metrics are disabled.
+     *
+     * @throws IllegalStateException if latency sampling is enabled without metrics
+     */
+    ChannelMetrics createMetrics(Sequencer sequencer, int capacity) {
+        if (metricsName == null) {
+            if (latencySamplingInterval != 0) {
+                throw new IllegalStateException("Latency sampling requires metrics to be enabled");
+            }
+            return null;
+        }
+
+        LatencySampler sampler = latencySamplingInterval == 0 ? null : new LatencySampler(capacity, latencySamplingInterval, alignedMemory);
+        try {
+            return new ChannelMetrics(metricsName, sequencer, capacity, sampler);
+        } catch (RuntimeException ex) {
+            if (sampler != null) {
+                sampler.free();
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.ryntric;
+
+import java.util.function.Supplier;
+
+/**
+ * The sequencer, poller and coordinator of a channel being created, decorated with the
+ * metrics its {@link ChannelOptions} enable.
+ * <p>
+ * Metered decorators are installed only when metrics are enabled, so a channel without
+ * metrics runs exactly the same code as before. The metrics are registered by
+ * {@link #complete(Supplier)} once the channel is complete. If anything fails before,
+ * the off-heap memory already allocated for the channel is released right away.
+ * </p>
+ *
+ * @see ChannelOptions
+ */
+final class ChannelParts {
+    final int capacity;
+    final Sequencer sequencer;
+    final Poller poller;
+    final Coordinator coordinator;
+    final SlotLayout layout;
+    final ChannelMetrics metrics;
+
+    ChannelParts(Sequencer sequencer, Poller poller, int capacity, ProducerWaitStrategyType pw,
+                 ConsumerWaitStrategyType cw, ChannelOptions options) {
+        ChannelMetrics metrics;
+        try {
+            metrics = options.createMetrics(sequencer, capacity);
+        } catch (RuntimeException ex) {
+            release(sequencer, poller);
+            throw ex;
+        }
+        if (metrics != null) {
+            poller = new MeteredPoller(poller, metrics);
+            if (metrics.getLatencySampler() != null) {
+                sequencer = new MeteredSequencer(sequencer, metrics.getLatencySampler());
+            }
+        }
+
+        this.capacity = capacity;
+        this.sequencer = sequencer;
+        this.poller = poller;
+        this.coordinator = new Coordinator(pw, cw, options.getPhasedBackoff(), metrics);
+        this.layout = options.createSlotLayout(capacity);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates the channel with the given factory and registers its metrics, if enabled,
+     * with the platform MBean server.
+     *
+     * @param factory creates the channel from these parts
+     * @param <C>     the type of the channel
+     * @return the channel
+     */
+    <C> C complete(Supplier<C> factory) {
+        try {
+            C channel = factory.get();
+            if (metrics != null) {
+                metrics.register();
+            }
+            return channel;
+        } catch (RuntimeException ex) {
+            release(sequencer, poller);
+            throw ex;
+        }
+    }
+
+    /**
+     * Releases the off-heap memory of a sequencer and poller no channel uses yet.
+     */
+    private static void release(Sequencer sequencer, Poller poller) {
+        sequencer.close();
+        sequencer.free();
+        poller.free();
+    }
+}
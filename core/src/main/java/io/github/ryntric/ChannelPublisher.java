@@ -0,0 +1,222 @@
+package io.github.ryntric;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Flow.Publisher} emitting the items of a {@link Channel} to a single
+ * {@link Flow.Subscriber}.
+ * <p>
+ * The subscription runs one long-lived task on the given executor. The task hands
+ * items to {@link Flow.Subscriber#onNext(Object)} straight from the ring: the
+ * outstanding demand, capped by {@code maxBatch}, becomes the {@code batchsize} of the
+ * next receive, and the demand counter is updated once per batch rather than once per
+ * item. While the channel is empty, the task waits according to the consumer wait
+ * strategy of the channel; while demand is exhausted, it parks until
+ * {@link Flow.Subscription#request(long)} is called.
+ * </p>
+ *
+ * <p>Every item is consumed once, so a publisher accepts a single subscriber; later
+ * subscribers receive {@link Flow.Subscriber#onError(Throwable)} with an
+ * {@link IllegalStateException}. Once the channel is {@linkplain Channel#close() closed}
+ * and drained, the subscriber receives {@link Flow.Subscriber#onComplete()}; the end is
+ * noticed while the subscriber has outstanding demand, at the latest on its next
+ * request. After {@link Flow.Subscription#cancel()}, the batch being delivered is
+ * still delivered in full, as the items already left the channel and are covered by
+ * the demand, so the subscriber may see a few {@code onNext} signals after cancelling;
+ * the remaining items stay in the channel.</p>
+ *
+ * <p><b>A subscriber must not throw from {@code onNext}.</b> If it does anyway, the
+ * subscription is cancelled and the rest of the batch being delivered is <b>lost</b>:
+ * those items have been taken from the channel and are neither delivered nor put
+ * back.</p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * Channel<Quote> channel = Channel.spsc(
+ *     1024,
+ *     ProducerWaitStrategyType.YIELDING,
+ *     ConsumerWaitStrategyType.LITE_BLOCKING
+ * );
+ *
+ * new ChannelPublisher<>(channel, 64, executor).subscribe(subscriber);
+ * channel.push(quote);
+ * }</pre>
+ *
+ * @param <T> the type of element emitted
+ *
+ * @see ChannelSubscriber
+ */
+public final class ChannelPublisher<T> implements Flow.Publisher<T> {
+    private final Channel<T> channel;
+    private final int maxBatch;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Creates a publisher over the given channel.
+     *
+     * @param channel  the channel whose items are emitted
+     * @param maxBatch the maximum number of items delivered per receive
+     * @param executor the executor running the delivery task of the subscription
+     * @throws IllegalArgumentException if {@code maxBatch} is not positive
+     */
+    public ChannelPublisher(Channel<T> channel, int maxBatch, Executor executor) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Max batch must be positive: " + maxBatch);
+        }
+        this.channel = Objects.requireNonNull(channel);
+        this.maxBatch = maxBatch;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            reject(subscriber, new IllegalStateException("Publisher already has a subscriber"));
+            return;
+        }
+
+        try {
+            executor.execute(new ChannelSubscription<>(channel, maxBatch, subscriber));
+        } catch (RejectedExecutionException ex) {
+            subscribed.set(false);
+            reject(subscriber, ex);
+        }
+    }
+
+    private static void reject(Flow.Subscriber<?> subscriber, Throwable cause) {
+        subscriber.onSubscribe(CancelledSubscription.INSTANCE);
+        subscriber.onError(cause);
+    }
+
+    private enum CancelledSubscription implements Flow.Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    /**
+     * The subscription and its delivery task. Only the task signals the subscriber,
+     * so signals are serial by construction.
+     */
+    private static final class ChannelSubscription<T> implements Flow.Subscription, Runnable, Consumer<T>, BooleanSupplier {
+        private final Channel<T> channel;
+        private final int maxBatch;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private volatile Thread thread;
+
+        /** The number of items delivered in the current batch, only used by the delivery task. */
+        private long delivered;
+        /** Whether {@code onNext} has thrown, only used by the delivery task. */
+        private boolean failed;
+
+        ChannelSubscription(Channel<T> channel, int maxBatch, Flow.Subscriber<? super T> subscriber) {
+            this.channel = channel;
+            this.maxBatch = maxBatch;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.error = new IllegalArgumentException("Requested " + n + " items, must be positive");
+                cancel();
+                return;
+            }
+
+            long current;
+            long next;
+            do {
+                current = demand.get();
+                next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (current != Long.MAX_VALUE && !demand.compareAndSet(current, next));
+
+            if (current == 0) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            channel.wakeupConsumers();
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public boolean getAsBoolean() {
+            return !cancelled;
+        }
+
+        @Override
+        public void accept(T item) {
+            if (failed) {
+                return;
+            }
+
+            delivered++;
+            try {
+                subscriber.onNext(item);
+            } catch (RuntimeException | Error ex) {
+                this.failed = true;
+                this.cancelled = true;
+                throw ex;
+            }
+        }
+
+        @Override
+        public void run() {
+            this.thread = Thread.currentThread();
+            subscriber.onSubscribe(this);
+
+            boolean completed = false;
+            while (!cancelled) {
+                long n = demand.get();
+                if (n == 0) {
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                delivered = 0;
+                boolean received = channel.blockingReceive((int) Math.min(n, maxBatch), this, this);
+                if (delivered != 0 && n != Long.MAX_VALUE) {
+                    demand.addAndGet(-delivered);
+                }
+                if (!received && !cancelled) {
+                    completed = true;
+                    break;
+                }
+            }
+
+            Throwable error = this.error;
+            if (error != null) {
+                subscriber.onError(error);
+            } else if (completed) {
+                subscriber.onComplete();
+            }
+            this.thread = null;
+        }
+    }
+}
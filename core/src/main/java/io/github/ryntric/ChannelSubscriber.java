@@ -0,0 +1,124 @@
+package io.github.ryntric;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link Flow.Subscriber} pushing every item it receives into a {@link Channel}.
+ * <p>
+ * Demand follows the free capacity of the channel: on subscription the subscriber
+ * requests as many items as the channel can take, and it requests more only once the
+ * consumers have advanced the gating sequence far enough to free at least a quarter
+ * of the window. Requests are therefore issued in batches, and pushes do not wait
+ * for capacity as long as the subscriber is the only producer of the channel. When
+ * the channel stays full and nothing is outstanding, one item is requested so that
+ * its push waits according to the producer wait strategy of the channel.
+ * </p>
+ *
+ * <p>The end of the upstream is reported by {@link #completion()}; the channel itself
+ * is left open. If an item cannot be pushed, typically because the channel has been
+ * closed, the subscriber cancels its subscription, ignores the items still in flight
+ * and completes {@link #completion()} exceptionally with the failure.</p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * Channel<Quote> channel = Channel.spsc(
+ *     1024,
+ *     ProducerWaitStrategyType.YIELDING,
+ *     ConsumerWaitStrategyType.LITE_BLOCKING
+ * );
+ *
+ * ChannelSubscriber<Quote> subscriber = new ChannelSubscriber<>(channel);
+ * publisher.subscribe(subscriber);
+ * channel.blockingReceive(64, quote -> handle(quote));
+ * }</pre>
+ *
+ * @param <T> the type of element received
+ *
+ * @see ChannelPublisher
+ */
+public final class ChannelSubscriber<T> implements Flow.Subscriber<T> {
+    private final Channel<T> channel;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    /** Only used by the thread signalling the subscriber. */
+    private Flow.Subscription subscription;
+    private boolean cancelled;
+    private long outstanding;
+    private long window;
+    private long batch;
+
+    /**
+     * Creates a subscriber pushing into the given channel.
+     *
+     * @param channel the channel receiving the items
+     */
+    public ChannelSubscriber(Channel<T> channel) {
+        this.channel = Objects.requireNonNull(channel);
+    }
+
+    /**
+     * Returns a future completed when the upstream completes, or completed
+     * exceptionally with the error it signals or the failure of a push.
+     *
+     * @return the completion of the upstream
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        this.window = channel.remainingCapacity();
+        this.batch = Math.max(1, window >> 2);
+        this.outstanding = 0;
+        replenish();
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item);
+        if (cancelled) {
+            return;
+        }
+
+        try {
+            channel.push(item);
+        } catch (RuntimeException ex) {
+            cancelled = true;
+            subscription.cancel();
+            completion.completeExceptionally(ex);
+            return;
+        }
+        if (--outstanding <= window - batch) {
+            replenish();
+        }
+    }
+
+    private void replenish() {
+        long n = channel.remainingCapacity() - outstanding;
+        if (n >= batch || outstanding == 0) {
+            n = Math.max(n, 1);
+            outstanding += n;
+            subscription.request(n);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(Objects.requireNonNull(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        completion.complete(null);
+    }
+}
@@ -7,5 +7,11 @@ interface Constants {
 
     int OBJECT_ARRAY_PADDING = CACHE_LINE_SIZE / Unsafe.ARRAY_OBJECT_INDEX_SCALE;
 
+    int LONG_ARRAY_PADDING = CACHE_LINE_SIZE / Unsafe.ARRAY_LONG_INDEX_SCALE;
+
+    int INT_ARRAY_PADDING = CACHE_LINE_SIZE / Unsafe.ARRAY_INT_INDEX_SCALE;
+
+    int DOUBLE_ARRAY_PADDING = CACHE_LINE_SIZE / Unsafe.ARRAY_DOUBLE_INDEX_SCALE;
+
     int BYTE_BUFFER_PADDING =  64;
 }
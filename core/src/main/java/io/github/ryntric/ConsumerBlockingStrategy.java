@@ -1,10 +1,12 @@
 package io.github.ryntric;
 
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A blocking {@link ConsumerWaitStrategy} implementation that uses a
- * {@link Object#wait()} / {@link Object#notifyAll()} mechanism to suspend and
- * resume the consumer thread.
+ * {@link ReentrantLock} and its {@link Condition} to suspend and resume the
+ * consumer thread.
  * <p>
  * This strategy is ideal for low-throughput or background consumers that do not
  * require busy-waiting or spinning, reducing CPU usage at the cost of higher
@@ -15,28 +17,38 @@ package io.github.ryntric;
  * (typically the producer or coordinator) invokes {@link #signal()}, which
  * releases the waiting consumer.</p>
  *
+ * <p>Waiting on a {@link Condition} rather than inside a {@code synchronized} block
+ * lets a virtual thread unmount from its carrier while it blocks, so idle consumers
+ * running on virtual threads do not pin carrier threads.</p>
+ *
  * Thread Safety
  * <ul>
- *   <li>All blocking and signaling is synchronized on a shared mutex.</li>
+ *   <li>All blocking and signaling is guarded by a shared lock.</li>
  *   <li>Multiple consumers can safely use separate instances of this strategy.</li>
  *   <li>This strategy is not designed for high-frequency wakeups.</li>
  * </ul>
  *
  * @see ConsumerWaitStrategy
- * @see java.lang.Object#wait()
- * @see java.lang.Object#notifyAll()
+ * @see Condition#await()
+ * @see Condition#signalAll()
  */
 final class ConsumerBlockingStrategy implements ConsumerWaitStrategy {
-    /** The monitor object used for synchronization between await and signal calls. */
-    private final Object MUTEX = new Object();
+    /** The lock guarding {@link #isBlocked}. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** The condition signalled when {@link #isBlocked} is cleared. */
+    private final Condition signalled = lock.newCondition();
 
     /** A flag indicating whether the consumer is currently blocked. */
     private boolean isBlocked = true;
 
+    /** Set by {@link #close()}; from then on waiting returns immediately. */
+    private boolean closed;
+
     /**
      * Blocks the calling thread until {@link #signal()} is invoked.
      * <p>
-     * The method waits on the internal mutex while {@code isBlocked} is {@code true}.
+     * The method waits on the condition while {@code isBlocked} is {@code true}.
      * Once signaled, it resets {@code isBlocked} to {@code true} to prepare for
      * the next blocking cycle.
      * </p>
@@ -45,33 +57,92 @@ final class ConsumerBlockingStrategy implements ConsumerWaitStrategy {
      */
     @Override
     public void await() {
+        lock.lock();
         try {
-            synchronized (MUTEX) {
-                while (isBlocked) {
-                    MUTEX.wait();
-                }
-                isBlocked = true;
+            while (isBlocked && !closed) {
+                signalled.await();
+            }
+            isBlocked = true;
+        } catch (InterruptedException ignored) {
+            // no-op
+        } finally {
+            lock.unlock();
+        }
+    }
 
+    /**
+     * Blocks the calling thread until {@link #signal()} is invoked or the deadline elapses.
+     * <p>
+     * If the thread is interrupted while waiting, the interruption is ignored
+     * and the method returns so the caller can poll again.
+     * </p>
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the consumer was signalled before the deadline, {@code false} otherwise
+     */
+    @Override
+    public boolean await(long deadline) {
+        lock.lock();
+        try {
+            long remaining;
+            while (isBlocked && !closed) {
+                if ((remaining = deadline - System.nanoTime()) <= 0) {
+                    return false;
+                }
+                signalled.awaitNanos(remaining);
             }
+            isBlocked = true;
         } catch (InterruptedException ignored) {
             // no-op
+        } finally {
+            lock.unlock();
         }
+        return true;
+    }
 
+    /**
+     * Returns {@code true}: the first consumer to wake takes the signal and the other
+     * ones keep waiting.
+     */
+    @Override
+    public boolean wakesSingleConsumer() {
+        return true;
     }
 
     /**
      * Wakes up any thread currently blocked in {@link #await()}.
      * <p>
-     * This method clears the {@code isBlocked} flag and notifies all threads
-     * waiting on the mutex. Typically called by the producer or coordinator
+     * This method clears the {@code isBlocked} flag and signals all threads
+     * waiting on the condition. Typically called by the producer or coordinator
      * after publishing new data.
      * </p>
      */
     @Override
     public void signal() {
-        synchronized (MUTEX) {
+        lock.lock();
+        try {
             isBlocked = false;
-            MUTEX.notifyAll();
+            signalled.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wakes every blocked thread and stops blocking altogether.
+     * <p>
+     * A plain {@link #signal()} lets a single waiter consume it, so the strategy is
+     * latched open instead, and every later {@link #await()} returns immediately.
+     * </p>
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            signalled.signalAll();
+        } finally {
+            lock.unlock();
         }
     }
 }
@@ -0,0 +1,153 @@
+package io.github.ryntric;
+
+/**
+ * The view of a shared {@link Sequencer} seen by one consumer group of a multicast ring.
+ * <p>
+ * Claiming and publishing are delegated to the shared sequencer, so every group
+ * observes the same published sequences. The gating sequence, however, belongs to
+ * the group: its {@link Poller} records progress here, independently of the other
+ * groups, and the shared sequencer gates producers on the minimum of the groups.
+ * </p>
+ *
+ * <p>A group that depends on upstream groups sees the minimum of their gating
+ * sequences as its cursor. Every sequence up to that minimum has already been
+ * published and handled upstream, so {@link #getHighest(long, long)} does not need
+ * to consult the shared sequencer.</p>
+ *
+ * @see AbstractSequencer#gateOn(Sequence[])
+ * @see ConsumerStage
+ */
+final class ConsumerGroupSequencer implements Sequencer {
+    private final Sequencer delegate;
+    private final Sequence gatingSequence = new Sequence(Sequence.INITIAL_VALUE);
+
+    /** The gating sequences of the upstream groups, or {@code null} if the group depends on none. */
+    private final Sequence[] upstream;
+
+    ConsumerGroupSequencer(Sequencer delegate, Sequence[] upstream) {
+        this.delegate = delegate;
+        this.upstream = upstream.length == 0 ? null : upstream;
+    }
+
+    /**
+     * Returns the sequence recording the progress of this group.
+     */
+    Sequence getGroupSequence() {
+        return gatingSequence;
+    }
+
+    @Override
+    public long next(Coordinator coordinator, int n) {
+        return delegate.next(coordinator, n);
+    }
+
+    @Override
+    public long tryNext(int n) {
+        return delegate.tryNext(n);
+    }
+
+    @Override
+    public long next(Coordinator coordinator, int n, long deadline) {
+        return delegate.next(coordinator, n, deadline);
+    }
+
+    @Override
+    public void publishCursorSequence(long sequence) {
+        delegate.publishCursorSequence(sequence);
+    }
+
+    @Override
+    public void publishCursorSequence(long low, long high) {
+        delegate.publishCursorSequence(low, high);
+    }
+
+    @Override
+    public void publishGatingSequence(long sequence) {
+        gatingSequence.setRelease(sequence);
+    }
+
+    @Override
+    public boolean advanceGatingSequence(long sequence, long current) {
+        return gatingSequence.weakCompareAndSetVolatile(current, sequence);
+    }
+
+    @Override
+    public long getHighest(long low, long high) {
+        return upstream == null ? delegate.getHighest(low, high) : high;
+    }
+
+    @Override
+    public long getCursorSequenceAcquire() {
+        Sequence[] upstream = this.upstream;
+        if (upstream == null) {
+            return delegate.getCursorSequenceAcquire();
+        }
+
+        long minimum = Long.MAX_VALUE;
+        for (Sequence sequence : upstream) {
+            minimum = Long.min(minimum, sequence.getAcquire());
+        }
+        return minimum;
+    }
+
+    @Override
+    public long getGatingSequencePlain() {
+        return gatingSequence.getPlain();
+    }
+
+    @Override
+    public long getGatingSequenceAcquire() {
+        return gatingSequence.getAcquire();
+    }
+
+    @Override
+    public long wait(Coordinator coordinator, long wrapPoint) {
+        return delegate.wait(coordinator, wrapPoint);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed();
+    }
+
+    /**
+     * Tells whether the ring is closed and every item claimed by producers has been
+     * published beyond the progress of this group or, for a downstream stage, handled
+     * by its upstream stages.
+     */
+    @Override
+    public boolean isCompleted() {
+        if (!delegate.isClosed()) {
+            return false;
+        }
+        long cursor = delegate.getCursorSequenceAcquire();
+        if (upstream != null) {
+            return getCursorSequenceAcquire() >= cursor;
+        }
+        long gating = gatingSequence.getAcquire();
+        return gating >= cursor || delegate.getHighest(gating + 1, cursor) == cursor;
+    }
+
+    /**
+     * Tells whether this group has handled every item claimed by producers, which
+     * for a downstream stage also means that its upstream stages have.
+     */
+    @Override
+    public boolean isDrained() {
+        long cursor = delegate.getCursorSequenceAcquire();
+        return gatingSequence.getAcquire() >= cursor;
+    }
+
+    /**
+     * Releases the shared ring, which requires every group to be drained, not only this one.
+     */
+    @Override
+    public void free() {
+        delegate.free();
+    }
+}
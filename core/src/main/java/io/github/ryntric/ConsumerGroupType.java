@@ -0,0 +1,25 @@
+package io.github.ryntric;
+
+
+/**
+ * Enumerates how the consumers of one group of a multicast {@link Channel} share
+ * the items of the group.
+ * <p>
+ * Every group sees every item published to the ring; the type only decides how the
+ * items are split among the threads consuming the group.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@link #SINGLE_THREADED} – One thread consumes the group and receives every item.</li>
+ *   <li>{@link #MULTI_THREADED} – Several threads compete for the items of the group, each item is received once.</li>
+ * </ul>
+ *
+ * @see Channel#mpmulticast(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ConsumerGroupType...)
+ */
+public enum ConsumerGroupType {
+    /** A single consumer thread, polling through a {@link SingleThreadPoller}. */
+    SINGLE_THREADED,
+
+    /** A pool of competing consumer threads, polling through a {@link MultiThreadPoller}. */
+    MULTI_THREADED
+}
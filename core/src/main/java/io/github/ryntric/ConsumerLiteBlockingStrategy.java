@@ -0,0 +1,60 @@
+package io.github.ryntric;
+
+/**
+ * A blocking {@link ConsumerWaitStrategy} that only pays for signalling while a
+ * consumer is actually parked.
+ * <p>
+ * Unlike {@link ConsumerBlockingStrategy}, which enters a monitor and calls
+ * {@link Object#notifyAll()} on every publish, this strategy keeps track of parked
+ * consumers in a {@link WaitQueue}. While consumers are busy, {@link #signal()}
+ * costs a fence and a single volatile read, so producers publishing at a high rate
+ * do not contend on a lock. Parked consumers are woken individually with
+ * {@link java.util.concurrent.locks.LockSupport#unpark(Thread)}.
+ * </p>
+ *
+ * <p>{@link #await()} may return without parking: the first call after a
+ * successful poll only registers the consumer, so that the caller polls once more
+ * before the consumer parks. This is what prevents lost wake-ups without a lock.</p>
+ *
+ * Characteristics
+ * <ul>
+ *   <li>Minimal CPU usage while idle, like {@link ConsumerBlockingStrategy}.</li>
+ *   <li>Near-free signalling while consumers keep up with producers.</li>
+ *   <li>Supports multiple consumers sharing one channel.</li>
+ * </ul>
+ *
+ * @see ConsumerWaitStrategy
+ * @see WaitQueue
+ */
+final class ConsumerLiteBlockingStrategy implements ConsumerWaitStrategy {
+    private final WaitQueue waitQueue = new WaitQueue();
+
+    /**
+     * Registers the consumer on the first call and parks it on the next one,
+     * until {@link #signal()} is invoked.
+     */
+    @Override
+    public void await() {
+        waitQueue.await();
+    }
+
+    /**
+     * Registers the consumer on the first call and parks it on the next one,
+     * until {@link #signal()} is invoked or the deadline elapses.
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(long deadline) {
+        return waitQueue.await(deadline);
+    }
+
+    /**
+     * Wakes the parked consumers, if any.
+     */
+    @Override
+    public void signal() {
+        waitQueue.signal();
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.ryntric;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * A thread that keeps handing the items of a {@link Channel} to a consumer until it
+ * is stopped, or until its channel is closed and every item has been handed over.
+ * <p>
+ * Loops are meant to run on virtual threads when the runtime provides them, which
+ * makes thousands of consumers of low-traffic channels affordable. While its channel
+ * is empty, a loop waits according to the consumer wait strategy; with
+ * {@link ConsumerWaitStrategyType#LITE_BLOCKING} or {@link ConsumerWaitStrategyType#PHASED}
+ * an idle virtual thread unmounts from its carrier and costs nothing until an item
+ * arrives. The spinning, yielding and parking strategies keep polling and therefore
+ * keep a carrier busy. {@link ConsumerWaitStrategyType#BLOCKING} wakes a single
+ * waiting consumer per signal, so the wake-up of {@link #stop()} could be taken by
+ * another consumer of the channel; channels using it are rejected.
+ * </p>
+ *
+ * <p>The library is compiled for Java 11, so virtual threads are looked up
+ * reflectively; {@link #isVirtualThreadSupported()} tells whether the running JDK
+ * has them.</p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * Channel<Order> channel = Channel.mpsc(
+ *     64,
+ *     ProducerWaitStrategyType.YIELDING,
+ *     ConsumerWaitStrategyType.LITE_BLOCKING
+ * );
+ *
+ * ConsumerLoop loop = ConsumerLoop.startVirtual(channel, 16, order -> process(order));
+ * // ...
+ * loop.stop();
+ * loop.awaitTermination(1, TimeUnit.SECONDS);
+ * }</pre>
+ *
+ * @see Channel#blockingReceive(int, Consumer)
+ */
+public final class ConsumerLoop {
+    /** Creates virtual threads, or {@code null} if the runtime does not support them. */
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+    private final Thread thread;
+    private final Channel<?> channel;
+    private volatile boolean running = true;
+
+    private <T> ConsumerLoop(Channel<T> channel, int batchsize, Consumer<T> consumer, ThreadFactory threadFactory) {
+        this.channel = channel;
+        this.thread = threadFactory.newThread(() -> {
+            BooleanSupplier active = this::isRunning;
+            while (active.getAsBoolean() && channel.blockingReceive(batchsize, consumer, active)) {
+                // keep receiving until stopped or the end of the stream
+            }
+        });
+        if (thread == null) {
+            throw new IllegalStateException("Thread factory did not create a thread");
+        }
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "channel-consumer-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether the running JDK supports virtual threads.
+     *
+     * @return {@code true} if virtual threads are available
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * Returns a factory creating virtual threads named {@code channel-consumer-<n>}.
+     *
+     * @return the virtual thread factory
+     * @throws UnsupportedOperationException if the running JDK does not support virtual threads
+     */
+    public static ThreadFactory virtualThreadFactory() {
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this runtime");
+        }
+        return VIRTUAL_THREAD_FACTORY;
+    }
+
+    /**
+     * Starts a loop on a thread created by the given factory.
+     *
+     * @param channel       the channel to consume
+     * @param batchsize     the maximum number of items handed over per receive
+     * @param consumer      the consumer receiving every item
+     * @param threadFactory the factory creating the thread of the loop
+     * @param <T>           the element type
+     * @return the started loop
+     * @throws IllegalArgumentException if the channel uses {@link ConsumerWaitStrategyType#BLOCKING}
+     */
+    public static <T> ConsumerLoop start(Channel<T> channel, int batchsize, Consumer<T> consumer, ThreadFactory threadFactory) {
+        if (channel.wakesSingleConsumer()) {
+            throw new IllegalArgumentException("Consumer wait strategy " + ConsumerWaitStrategyType.BLOCKING + " wakes a single consumer and cannot stop a loop");
+        }
+        ConsumerLoop loop = new ConsumerLoop(Objects.requireNonNull(channel), batchsize, Objects.requireNonNull(consumer), threadFactory);
+        loop.thread.start();
+        return loop;
+    }
+
+    /**
+     * Starts a loop on a new virtual thread.
+     *
+     * @param channel   the channel to consume
+     * @param batchsize the maximum number of items handed over per receive
+     * @param consumer  the consumer receiving every item
+     * @param <T>       the element type
+     * @return the started loop
+     * @throws IllegalArgumentException if the channel uses {@link ConsumerWaitStrategyType#BLOCKING}
+     * @throws UnsupportedOperationException if the running JDK does not support virtual threads
+     */
+    public static <T> ConsumerLoop startVirtual(Channel<T> channel, int batchsize, Consumer<T> consumer) {
+        return start(channel, batchsize, consumer, virtualThreadFactory());
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Asks the loop to stop and wakes it if it waits for items. A batch being handled
+     * is completed first. Items still in the channel are left to other consumers.
+     */
+    public void stop() {
+        this.running = false;
+        channel.wakeupConsumers();
+    }
+
+    /**
+     * Waits for the loop to stop.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of {@code timeout}
+     * @return {@code true} if the loop has stopped, {@code false} if the timeout elapsed first
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        unit.timedJoin(thread, timeout);
+        return !thread.isAlive();
+    }
+}
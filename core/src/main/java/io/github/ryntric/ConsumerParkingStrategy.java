@@ -15,7 +15,10 @@ import java.util.concurrent.locks.LockSupport;
  *
  * <p>This implementation is <b>non-signallable</b>; the {@link #signal()} method is
  * intentionally a no-op because the parked thread will resume automatically on its
- * next iteration. It is most effective when used in continuous polling loops.</p>
+ * next iteration. It is most effective when used in continuous polling loops.
+ * On a virtual thread every park schedules a timer and remounts almost at once,
+ * so an idle consumer keeps its carrier busy; signalled strategies suit virtual
+ * threads better.</p>
  *
  * Characteristics
  * <ul>
@@ -41,6 +44,21 @@ final class ConsumerParkingStrategy implements ConsumerWaitStrategy {
         LockSupport.parkNanos(1L);
     }
 
+    /**
+     * Performs a single backoff step unless the deadline has already elapsed.
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(long deadline) {
+        if (deadline - System.nanoTime() <= 0) {
+            return false;
+        }
+        LockSupport.parkNanos(1L);
+        return true;
+    }
+
     /**
      * No-op for this strategy.
      * <p>
@@ -0,0 +1,77 @@
+package io.github.ryntric;
+
+/**
+ * A {@link ConsumerWaitStrategy} that spins, then yields, then parks with growing
+ * timeouts and finally blocks until signalled.
+ * <p>
+ * The phases are driven by the attempt count passed by the consumer loop and
+ * bounded by a {@link PhasedBackoff}. While traffic flows, consumers stay in the
+ * spinning phase and react almost as fast as with {@link ConsumerSpinningStrategy};
+ * once idle, they end up parked in a {@link WaitQueue} like
+ * {@link ConsumerLiteBlockingStrategy}, using no CPU.
+ * </p>
+ *
+ * <p>{@link #signal()} costs a fence and a single volatile read unless a consumer
+ * has reached the blocking phase.</p>
+ *
+ * @see PhasedBackoff
+ * @see ConsumerWaitStrategy
+ */
+final class ConsumerPhasedStrategy implements ConsumerWaitStrategy {
+    private final PhasedBackoff backoff;
+    private final WaitQueue waitQueue = new WaitQueue();
+
+    ConsumerPhasedStrategy(PhasedBackoff backoff) {
+        this.backoff = backoff;
+    }
+
+    /**
+     * Performs the first backoff step; equivalent to {@code await(0)}.
+     */
+    @Override
+    public void await() {
+        await(0);
+    }
+
+    @Override
+    public boolean await(long deadline) {
+        return await(0, deadline);
+    }
+
+    /**
+     * Spins, yields, parks or blocks, depending on the phase the attempt falls into.
+     *
+     * @param attempt the number of consecutive unsuccessful polls
+     */
+    @Override
+    public void await(int attempt) {
+        if (!backoff.backoff(attempt)) {
+            waitQueue.await();
+        }
+    }
+
+    /**
+     * Spins, yields, parks or blocks, depending on the phase the attempt falls into,
+     * but no longer than the given deadline.
+     *
+     * @param attempt  the number of consecutive unsuccessful polls
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(int attempt, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        return backoff.backoff(attempt, remaining) || waitQueue.await(deadline);
+    }
+
+    /**
+     * Wakes the consumers that reached the blocking phase, if any.
+     */
+    @Override
+    public void signal() {
+        waitQueue.signal();
+    }
+}
@@ -38,6 +38,21 @@ final class ConsumerSpinningStrategy implements ConsumerWaitStrategy {
         Thread.onSpinWait();
     }
 
+    /**
+     * Performs a single backoff step unless the deadline has already elapsed.
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(long deadline) {
+        if (deadline - System.nanoTime() <= 0) {
+            return false;
+        }
+        Thread.onSpinWait();
+        return true;
+    }
+
     /**
      * No-op for this strategy.
      * <p>
@@ -0,0 +1,69 @@
+package io.github.ryntric;
+
+import java.util.Objects;
+
+/**
+ * Describes one stage of a consumer pipeline on a multicast {@link Channel}: a
+ * consumer group together with the stages it depends on.
+ * <p>
+ * A stage only sees the sequences every one of its upstream stages has finished
+ * handling, so a pipeline, or any other acyclic graph such as a diamond, runs over a
+ * single ring without copying items between channels. Producers are gated by the
+ * stages nothing depends on.
+ * </p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * ConsumerStage decode = ConsumerStage.of(ConsumerGroupType.SINGLE_THREADED);
+ * ConsumerStage enrich = ConsumerStage.of(ConsumerGroupType.MULTI_THREADED, decode);
+ * ConsumerStage persist = ConsumerStage.of(ConsumerGroupType.SINGLE_THREADED, enrich);
+ *
+ * List<Channel<Order>> stages = Channel.spmulticast(
+ *     1024,
+ *     ProducerWaitStrategyType.YIELDING,
+ *     ConsumerWaitStrategyType.LITE_BLOCKING,
+ *     decode, enrich, persist
+ * );
+ * }</pre>
+ *
+ * <p>Because stages can only depend on stages created before them, the graph can not
+ * contain cycles. A stage is bound to a ring only through the factory method it is
+ * passed to; the same instances may describe several rings.</p>
+ *
+ * @see Channel#spmulticast(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ConsumerStage...)
+ * @see Channel#mpmulticast(int, ProducerWaitStrategyType, ConsumerWaitStrategyType, ConsumerStage...)
+ */
+public final class ConsumerStage {
+    private static final ConsumerStage[] NO_STAGES = new ConsumerStage[0];
+
+    private final ConsumerGroupType type;
+    private final ConsumerStage[] upstream;
+
+    private ConsumerStage(ConsumerGroupType type, ConsumerStage[] upstream) {
+        this.type = type;
+        this.upstream = upstream;
+    }
+
+    /**
+     * Creates a stage consumed in the given way that depends on the given stages.
+     *
+     * @param type     the way the items of the stage are split among its threads
+     * @param upstream the stages that must handle an item before this stage sees it
+     * @return a new stage
+     */
+    public static ConsumerStage of(ConsumerGroupType type, ConsumerStage... upstream) {
+        Objects.requireNonNull(type);
+        for (ConsumerStage stage : upstream) {
+            Objects.requireNonNull(stage);
+        }
+        return new ConsumerStage(type, upstream.length == 0 ? NO_STAGES : upstream.clone());
+    }
+
+    ConsumerGroupType getType() {
+        return type;
+    }
+
+    ConsumerStage[] getUpstream() {
+        return upstream;
+    }
+}
@@ -24,6 +24,7 @@ package io.github.ryntric;
  * @see ConsumerYieldingStrategy
  * @see ConsumerParkingStrategy
  * @see ConsumerBlockingStrategy
+ * @see ConsumerLiteBlockingStrategy
  * @since 1.0
  */
 interface ConsumerWaitStrategy {
@@ -37,6 +38,50 @@ interface ConsumerWaitStrategy {
      */
     void await();
 
+    /**
+     * Invoked when the consumer should wait for work, but no longer than the
+     * given deadline.
+     * <p>
+     * The deadline is expressed in {@link System#nanoTime()} units. Non-signallable
+     * strategies perform a single backoff step, while blocking strategies wait until
+     * they are signalled or the deadline elapses, whichever happens first.
+     * </p>
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    boolean await(long deadline);
+
+    /**
+     * Invoked when the consumer should wait for work, after {@code attempt}
+     * consecutive unsuccessful polls.
+     * <p>
+     * The attempt count starts at {@code 0} every time the consumer begins to wait
+     * and lets strategies such as {@link ConsumerPhasedStrategy} escalate their
+     * backoff. By default it is ignored and {@link #await()} is invoked.
+     * </p>
+     *
+     * @param attempt the number of consecutive unsuccessful polls
+     */
+    default void await(int attempt) {
+        await();
+    }
+
+    /**
+     * Invoked when the consumer should wait for work, after {@code attempt}
+     * consecutive unsuccessful polls, but no longer than the given deadline.
+     * <p>
+     * By default the attempt count is ignored and {@link #await(long)} is invoked.
+     * </p>
+     *
+     * @param attempt  the number of consecutive unsuccessful polls
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    default boolean await(int attempt, long deadline) {
+        return await(deadline);
+    }
+
 
     /**
      * Invoked to signal the consumer that work is available.
@@ -47,4 +92,27 @@ interface ConsumerWaitStrategy {
      * </p>
      */
     void signal();
+
+    /**
+     * Tells whether a {@link #signal()} wakes a single waiting consumer. Such a
+     * strategy cannot wake one particular consumer of several: another one may take
+     * the signal.
+     *
+     * @return {@code true} if a signal wakes a single consumer, {@code false} if it wakes them all
+     */
+    default boolean wakesSingleConsumer() {
+        return false;
+    }
+
+    /**
+     * Invoked once the channel is closed, to wake every waiting consumer so it can
+     * observe the end of the stream.
+     * <p>
+     * By default {@link #signal()} is invoked, which suits strategies that wake
+     * every waiting consumer on each signal.
+     * </p>
+     */
+    default void close() {
+        signal();
+    }
 }
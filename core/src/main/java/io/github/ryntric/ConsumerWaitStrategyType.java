@@ -14,8 +14,15 @@ package io.github.ryntric;
  *   <li>{@link #PARKING} – The consumer briefly parks the thread using {@link java.util.concurrent.locks.LockSupport}, reducing CPU usage.</li>
  *   <li>{@link #YIELDING} – The consumer yields the CPU to allow other threads to run, balancing latency and CPU usage.</li>
  *   <li>{@link #BLOCKING} – The consumer blocks and waits for a notification to resume, minimizing CPU usage but adding higher latency.</li>
+ *   <li>{@link #LITE_BLOCKING} – Like {@link #BLOCKING}, but producers only pay for signalling while a consumer is parked.</li>
+ *   <li>{@link #PHASED} – The consumer spins, then yields, then parks with growing timeouts and finally blocks, see {@link PhasedBackoff}.</li>
  * </ul>
  *
+ * <p>Consumers running on virtual threads should use {@link #LITE_BLOCKING} or
+ * {@link #PHASED}, which unmount an idle virtual thread from its carrier; the polling
+ * strategies occupy a carrier thread while waiting, and {@link ConsumerLoop} rejects
+ * {@link #BLOCKING}.</p>
+ *
  * @see ConsumerWaitStrategy
  * @see Channel
  */
@@ -30,5 +37,11 @@ public enum ConsumerWaitStrategyType {
     YIELDING,
 
     /** Blocks the consumer thread until notified, minimizing CPU usage. */
-    BLOCKING
+    BLOCKING,
+
+    /** Parks the consumer thread until notified, skipping the notification while no consumer is parked. */
+    LITE_BLOCKING,
+
+    /** Spins, yields, parks and finally blocks as the consumer stays idle. */
+    PHASED
 }
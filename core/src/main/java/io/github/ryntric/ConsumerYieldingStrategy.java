@@ -36,6 +36,21 @@ final class ConsumerYieldingStrategy implements ConsumerWaitStrategy {
         Thread.yield();
     }
 
+    /**
+     * Performs a single backoff step unless the deadline has already elapsed.
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(long deadline) {
+        if (deadline - System.nanoTime() <= 0) {
+            return false;
+        }
+        Thread.yield();
+        return true;
+    }
+
     /**
      * No-op for this strategy.
      * <p>
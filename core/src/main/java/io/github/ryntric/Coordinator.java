@@ -12,7 +12,8 @@ package io.github.ryntric;
  * <p>Typical usage involves invoking {@link #producerWait()} when a producer cannot
  * advance due to capacity constraints, and {@link #consumerWait()} when a consumer
  * has no available data. The {@link #wakeupConsumer()} method signals blocked or
- * parked consumers that new data has arrived.</p>
+ * parked consumers that new data has arrived, and {@link #wakeupProducer()} signals
+ * blocked producers that capacity has been freed.</p>
  *
  * Characteristics
  * <ul>
@@ -34,6 +35,9 @@ final class Coordinator {
     /** The wait strategy used by consumers when no items are available. */
     private final ConsumerWaitStrategy consumerWaitStrategy;
 
+    /** Whether freeing items also wakes consumers, set for stages other stages depend on. */
+    private final boolean wakeDownstream;
+
     /**
      * Creates a new {@code Coordinator} with the specified producer and consumer wait strategies.
      *
@@ -41,22 +45,167 @@ final class Coordinator {
      * @param consumerWaitStrategy the strategy used by consumers when waiting
      */
     Coordinator(ProducerWaitStrategy producerWaitStrategy, ConsumerWaitStrategy consumerWaitStrategy) {
+        this(producerWaitStrategy, consumerWaitStrategy, false);
+    }
+
+    private Coordinator(ProducerWaitStrategy producerWaitStrategy, ConsumerWaitStrategy consumerWaitStrategy, boolean wakeDownstream) {
         this.producerWaitStrategy = producerWaitStrategy;
         this.consumerWaitStrategy = consumerWaitStrategy;
+        this.wakeDownstream = wakeDownstream;
+    }
+
+    /**
+     * Creates a new {@code Coordinator} with the wait strategies of the given types.
+     *
+     * @param pw the producer wait strategy type
+     * @param cw the consumer wait strategy type
+     */
+    Coordinator(ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        this(pw, cw, PhasedBackoff.defaults());
+    }
+
+    /**
+     * Creates a new {@code Coordinator} with the wait strategies of the given types,
+     * using the given thresholds for {@code PHASED} strategies.
+     *
+     * @param pw      the producer wait strategy type
+     * @param cw      the consumer wait strategy type
+     * @param backoff the thresholds of {@code PHASED} strategies
+     */
+    Coordinator(ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, PhasedBackoff backoff) {
+        this(createProducerWaitStrategy(pw, backoff), createConsumerWaitStrategy(cw, backoff));
+    }
+
+    /**
+     * Creates a new {@code Coordinator} with the wait strategies of the given types,
+     * counting every wait in the given metrics.
+     *
+     * @param pw      the producer wait strategy type
+     * @param cw      the consumer wait strategy type
+     * @param backoff the thresholds of {@code PHASED} strategies
+     * @param metrics the metrics to record waits into, or {@code null} if metrics are disabled
+     */
+    Coordinator(ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, PhasedBackoff backoff, ChannelMetrics metrics) {
+        this(metered(createProducerWaitStrategy(pw, backoff), metrics), metered(createConsumerWaitStrategy(cw, backoff), metrics));
+    }
+
+    /**
+     * Returns a coordinator sharing the wait strategies of this one whose
+     * {@link #wakeupProducer()} also wakes consumers. It is used by consumer stages
+     * that other stages depend on, whose consumers wait for the upstream progress
+     * rather than for producers.
+     *
+     * @return a coordinator that wakes downstream consumers
+     */
+    Coordinator withDownstream() {
+        return new Coordinator(producerWaitStrategy, consumerWaitStrategy, true);
+    }
+
+    private static ProducerWaitStrategy metered(ProducerWaitStrategy strategy, ChannelMetrics metrics) {
+        return metrics == null ? strategy : new MeteredProducerWaitStrategy(strategy, metrics);
+    }
+
+    private static ConsumerWaitStrategy metered(ConsumerWaitStrategy strategy, ChannelMetrics metrics) {
+        return metrics == null ? strategy : new MeteredConsumerWaitStrategy(strategy, metrics);
+    }
+
+    private static ProducerWaitStrategy createProducerWaitStrategy(ProducerWaitStrategyType type, PhasedBackoff backoff) {
+        ProducerWaitStrategy strategy = null;
+        switch (type) {
+            case PARKING:
+                strategy = new ProducerParkingStrategy();
+                break;
+            case SPINNING:
+                strategy = new ProducerSpinningStrategy();
+                break;
+            case YIELDING:
+                strategy = new ProducerYieldingStrategy();
+                break;
+            case BLOCKING:
+                strategy = new ProducerBlockingStrategy();
+                break;
+            case PHASED:
+                strategy = new ProducerPhasedStrategy(backoff);
+                break;
+        }
+        return strategy;
+    }
+
+    private static ConsumerWaitStrategy createConsumerWaitStrategy(ConsumerWaitStrategyType type, PhasedBackoff backoff) {
+        ConsumerWaitStrategy strategy = null;
+        switch (type) {
+            case PARKING:
+                strategy = new ConsumerParkingStrategy();
+                break;
+            case SPINNING:
+                strategy = new ConsumerSpinningStrategy();
+                break;
+            case YIELDING:
+                strategy = new ConsumerYieldingStrategy();
+                break;
+            case BLOCKING:
+                strategy = new ConsumerBlockingStrategy();
+                break;
+            case LITE_BLOCKING:
+                strategy = new ConsumerLiteBlockingStrategy();
+                break;
+            case PHASED:
+                strategy = new ConsumerPhasedStrategy(backoff);
+                break;
+        }
+        return strategy;
     }
 
     /**
      * Causes the producer to wait according to its configured wait strategy.
+     *
+     * @param attempt the number of consecutive unsuccessful claims, starting at {@code 0}
+     */
+    public void producerWait(int attempt) {
+        producerWaitStrategy.await(attempt);
+    }
+
+    /**
+     * Causes the producer to wait according to its configured wait strategy,
+     * but no longer than the given deadline.
+     *
+     * @param attempt  the number of consecutive unsuccessful claims, starting at {@code 0}
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
      */
-    public void producerWait() {
-        producerWaitStrategy.await();
+    public boolean producerWait(int attempt, long deadline) {
+        return producerWaitStrategy.await(attempt, deadline);
     }
 
     /**
      * Causes the consumer to wait according to its configured wait strategy.
+     *
+     * @param attempt the number of consecutive unsuccessful polls, starting at {@code 0}
+     */
+    public void consumerWait(int attempt) {
+        consumerWaitStrategy.await(attempt);
+    }
+
+    /**
+     * Causes the consumer to wait according to its configured wait strategy,
+     * but no longer than the given deadline.
+     *
+     * @param attempt  the number of consecutive unsuccessful polls, starting at {@code 0}
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
      */
-    public void consumerWait() {
-        consumerWaitStrategy.await();
+    public boolean consumerWait(int attempt, long deadline) {
+        return consumerWaitStrategy.await(attempt, deadline);
+    }
+
+    /**
+     * Tells whether {@link #wakeupConsumer()} wakes a single waiting consumer.
+     *
+     * @return {@code true} for the {@link ConsumerWaitStrategyType#BLOCKING} strategy
+     * @see ConsumerWaitStrategy#wakesSingleConsumer()
+     */
+    boolean wakesSingleConsumer() {
+        return consumerWaitStrategy.wakesSingleConsumer();
     }
 
     /**
@@ -65,4 +214,26 @@ final class Coordinator {
     public void wakeupConsumer() {
         consumerWaitStrategy.signal();
     }
+
+    /**
+     * Signals the producers that consumers have freed capacity, waking them if blocked.
+     * For a coordinator created by {@link #withDownstream()}, also signals the
+     * consumers of downstream stages.
+     */
+    public void wakeupProducer() {
+        producerWaitStrategy.signal();
+        if (wakeDownstream) {
+            consumerWaitStrategy.signal();
+        }
+    }
+
+    /**
+     * Wakes every waiting producer and consumer once the channel is closed.
+     * Consumer strategies that hand a signal to a single waiter stop blocking
+     * altogether.
+     */
+    public void close() {
+        producerWaitStrategy.close();
+        consumerWaitStrategy.close();
+    }
 }
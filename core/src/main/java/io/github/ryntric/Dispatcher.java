@@ -0,0 +1,32 @@
+package io.github.ryntric;
+
+/**
+ * Hands a claimed, contiguous range of sequences over to a consumer.
+ * <p>
+ * A {@code Dispatcher} is implemented by the ring buffers, which know how their
+ * elements are stored. {@link Poller} implementations only deal with sequences:
+ * they claim a range, call {@link #dispatch(long, long, Object)} and release the
+ * range back to the producers. This keeps the polling logic shared between
+ * reference and primitive channels.
+ * </p>
+ *
+ * @param <C> the type of consumer the elements are delivered to
+ *
+ * @see Poller
+ * @see AbstractRingBuffer
+ */
+interface Dispatcher<C> {
+
+    /**
+     * Delivers every element in the range {@code [low, high]} to the given consumer.
+     * <p>
+     * Implementations must not let an exception thrown by the consumer escape,
+     * otherwise the range would never be released to the producers.
+     * </p>
+     *
+     * @param low      the first sequence of the range (inclusive)
+     * @param high     the last sequence of the range (inclusive)
+     * @param consumer the consumer receiving the elements
+     */
+    void dispatch(long low, long high, C consumer);
+}
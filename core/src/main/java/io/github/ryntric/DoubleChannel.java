@@ -0,0 +1,219 @@
+package io.github.ryntric;
+
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A {@link Channel} specialization for primitive {@code double} values.
+ * <p>
+ * Values are stored in a padded primitive array rather than as boxed {@link Double}
+ * references, so neither {@link #push(double)} nor receiving values
+ * allocate. The channel reuses the same {@link Sequencer}, {@link Poller} and
+ * {@link Coordinator} machinery as {@link Channel}, supports the same SPSC, MPSC,
+ * SPMC and MPMC topologies and accepts the same {@link ChannelOptions}.
+ * </p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * DoubleChannel channel = DoubleChannel.mpsc(
+ *     1024,
+ *     ProducerWaitStrategyType.SPINNING,
+ *     ConsumerWaitStrategyType.BLOCKING
+ * );
+ *
+ * // Producer
+ * channel.push(Math.PI);
+ *
+ * // Consumer
+ * channel.blockingReceive(64, value -> System.out.println("Received: " + value));
+ * }</pre>
+ *
+ * @see Channel
+ * @see DoubleRingBuffer
+ */
+public final class DoubleChannel extends AbstractChannel<DoubleConsumer, DoubleRingBuffer> {
+
+    private DoubleChannel(ChannelParts parts) {
+        super(parts, new DoubleRingBuffer(parts.sequencer, parts.poller, parts.capacity, parts.layout));
+    }
+
+    /**
+     * Pushes a single value into the channel for consumption.
+     *
+     * @param value the value to push into the channel
+     * @throws IllegalStateException if the channel is closed
+     */
+    public void push(double value) {
+        ensureOpen();
+        ringBuffer.push(coordinator, value);
+        coordinator.wakeupConsumer();
+    }
+
+    /**
+     * Pushes {@code length} values starting at {@code offset} into the channel as a batch.
+     *
+     * @param values the array holding the values to push
+     * @param offset the index of the first value to push
+     * @param length the number of values to push
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of {@code values}
+     * @throws IllegalStateException if the channel is closed
+     */
+    public void push(double[] values, int offset, int length) {
+        ensureOpen();
+        Objects.checkFromIndexSize(offset, length, values.length);
+        ringBuffer.push(coordinator, values, offset, length);
+        coordinator.wakeupConsumer();
+    }
+
+    /**
+     * Pushes a single value into the channel, waiting for free capacity no longer
+     * than the given timeout.
+     *
+     * @param value   the value to push into the channel
+     * @param timeout the maximum time to wait for free capacity
+     * @param unit    the time unit of the {@code timeout} argument
+     * @return {@code true} if the value was published, {@code false} if the timeout elapsed
+     * @throws IllegalStateException if the channel is closed
+     */
+    public boolean push(double value, long timeout, TimeUnit unit) {
+        ensureOpen();
+        if (ringBuffer.push(coordinator, value, System.nanoTime() + unit.toNanos(timeout))) {
+            coordinator.wakeupConsumer();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Attempts to push a single value into the channel without waiting.
+     *
+     * @param value the value to push into the channel
+     * @return {@code true} if the value was published, {@code false} if the channel is full
+     * @throws IllegalStateException if the channel is closed
+     */
+    public boolean tryPush(double value) {
+        ensureOpen();
+        if (ringBuffer.tryPush(value)) {
+            coordinator.wakeupConsumer();
+            return true;
+        }
+        return false;
+    }
+
+    private static DoubleChannel create(Sequencer sequencer, Poller poller, int capacity, ProducerWaitStrategyType pw,
+                                   ConsumerWaitStrategyType cw, ChannelOptions options) {
+        ChannelParts parts = new ChannelParts(sequencer, poller, capacity, pw, cw, options);
+        return parts.complete(() -> new DoubleChannel(parts));
+    }
+
+    /**
+     * Creates a new single-producer, single-consumer (SPSC) channel with the given
+     * capacity and wait strategies.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @return a new SPSC {@code DoubleChannel}
+     */
+    public static DoubleChannel spsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return spsc(capacity, pw, cw, new ChannelOptions());
+    }
+
+    /**
+     * Creates a new multi-producer, single-consumer (MPSC) channel with the given
+     * capacity and wait strategies.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @return a new MPSC {@code DoubleChannel}
+     */
+    public static DoubleChannel mpsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return mpsc(capacity, pw, cw, new ChannelOptions());
+    }
+
+    /**
+     * Creates a new single-producer, multi-consumer (SPMC) channel with the given
+     * capacity and wait strategies.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @return a new SPMC {@code DoubleChannel}
+     */
+    public static DoubleChannel spmc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return spmc(capacity, pw, cw, new ChannelOptions());
+    }
+
+    /**
+     * Creates a new multi-producer, multi-consumer (MPMC) channel with the given
+     * capacity and wait strategies.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @return a new MPMC {@code DoubleChannel}
+     */
+    public static DoubleChannel mpmc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw) {
+        return mpmc(capacity, pw, cw, new ChannelOptions());
+    }
+
+    /**
+     * Creates a new single-producer, single-consumer (SPSC) channel with the given capacity, wait strategies
+     * and options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @return a new SPSC {@code DoubleChannel}
+     */
+    public static DoubleChannel spsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        return create(new SingleProducerSequencer(capacity), new SingleThreadPoller(), capacity, pw, cw, options);
+    }
+
+    /**
+     * Creates a new multi-producer, single-consumer (MPSC) channel with the given capacity, wait strategies
+     * and options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @return a new MPSC {@code DoubleChannel}
+     */
+    public static DoubleChannel mpsc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        return create(options.createMultiProducerSequencer(capacity), new SingleThreadPoller(), capacity, pw, cw, options);
+    }
+
+    /**
+     * Creates a new single-producer, multi-consumer (SPMC) channel with the given capacity, wait strategies
+     * and options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @return a new SPMC {@code DoubleChannel}
+     */
+    public static DoubleChannel spmc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        return create(new SingleProducerSequencer(capacity), options.createMultiThreadPoller(capacity), capacity, pw, cw, options);
+    }
+
+    /**
+     * Creates a new multi-producer, multi-consumer (MPMC) channel with the given capacity, wait strategies
+     * and options.
+     *
+     * @param capacity the size of the ring buffer
+     * @param pw       the producer wait strategy type
+     * @param cw       the consumer wait strategy type
+     * @param options  the optional settings of the channel
+     * @return a new MPMC {@code DoubleChannel}
+     */
+    public static DoubleChannel mpmc(int capacity, ProducerWaitStrategyType pw, ConsumerWaitStrategyType cw, ChannelOptions options) {
+        return create(options.createMultiProducerSequencer(capacity), options.createMultiThreadPoller(capacity), capacity, pw, cw, options);
+    }
+
+}
@@ -0,0 +1,25 @@
+package io.github.ryntric;
+
+/**
+ * Creates the mutable events that pre-populate every slot of a preallocated {@link Channel}.
+ * <p>
+ * The factory is invoked once per slot when the channel is constructed. Afterwards the
+ * same instances are reused for the lifetime of the channel: producers obtain a slot via
+ * {@link Channel#claim()} and {@link Channel#get(long)}, mutate it in place and make it
+ * visible with {@link Channel#publish(long)}, so publishing allocates nothing.
+ * </p>
+ *
+ * @param <T> the type of event stored in the channel
+ *
+ * @see Channel#spsc(int, EventFactory, ProducerWaitStrategyType, ConsumerWaitStrategyType)
+ */
+@FunctionalInterface
+public interface EventFactory<T> {
+
+    /**
+     * Creates a new, empty event instance.
+     *
+     * @return a new event instance, never {@code null}
+     */
+    T newInstance();
+}
@@ -0,0 +1,128 @@
+package io.github.ryntric;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split into
+ * {@code 32} linear sub-buckets, so a value is reported with a relative error below
+ * {@code 1/32} while the whole range of {@code long} fits into {@value #BUCKETS}
+ * buckets. Recording a value is a single atomic increment of its bucket, which lets
+ * several consumers record into the same histogram without locking.
+ * </p>
+ *
+ * <p>{@link #snapshot()} returns the distribution since the channel was created or
+ * its metrics were last reset. {@link #intervalSnapshot()} returns the distribution
+ * since the previous interval snapshot, which suits periodic reporting.</p>
+ *
+ * @see ChannelMetrics#queueDelay()
+ * @see ChannelMetrics#handlerTime()
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** The number of buckets needed to cover every non-negative {@code long}. */
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    private long[] intervalCounts = new long[BUCKETS];
+    private long intervalSum;
+
+    LatencyHistogram() {}
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Long.max(0L, value);
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Records a latency. Negative values, caused by clock adjustments, are counted as zero.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    void record(long nanos) {
+        long value = Long.max(0L, nanos);
+        counts.getAndIncrement(bucketOf(value));
+        sum.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns the distribution of all latencies recorded so far.
+     *
+     * @return a snapshot of this histogram
+     */
+    public LatencySnapshot snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return new LatencySnapshot(snapshot, sum.sum(), max.get());
+    }
+
+    /**
+     * Returns the distribution of the latencies recorded since the previous call to this
+     * method, or since the histogram was created or reset for the first call.
+     * <p>
+     * The maximum of an interval is the upper bound of its highest non-empty bucket,
+     * capped by the overall maximum.
+     * </p>
+     *
+     * @return a snapshot of the latest interval
+     */
+    public synchronized LatencySnapshot intervalSnapshot() {
+        long[] current = new long[BUCKETS];
+        long[] delta = new long[BUCKETS];
+        int highest = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            current[i] = counts.get(i);
+            delta[i] = current[i] - intervalCounts[i];
+            if (delta[i] > 0) {
+                highest = i;
+            }
+        }
+
+        long currentSum = sum.sum();
+        long intervalMax = highest < 0 ? 0L : Long.min(highestValueOf(highest), max.get());
+        LatencySnapshot snapshot = new LatencySnapshot(delta, currentSum - intervalSum, intervalMax);
+        this.intervalCounts = current;
+        this.intervalSum = currentSum;
+        return snapshot;
+    }
+
+    /**
+     * Clears all recorded latencies, including the state of interval snapshots.
+     */
+    synchronized void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        sum.reset();
+        max.set(0L);
+        this.intervalCounts = new long[BUCKETS];
+        this.intervalSum = 0L;
+    }
+}
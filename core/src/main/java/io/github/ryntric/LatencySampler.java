@@ -0,0 +1,114 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.Util;
+
+/**
+ * Measures the latency of every {@code interval}-th sequence of a channel.
+ * <p>
+ * A sequence is sampled when its low {@code log2(interval)} bits are zero. When such a
+ * sequence is published, its timestamp is written into an off-heap array holding one
+ * {@code long} per sampled slot, indexed like {@link AvailabilityBuffer} but by
+ * {@code sequence / interval}. The array covers a whole ring, so a timestamp is never
+ * overwritten before the sequence it belongs to has been consumed.
+ * </p>
+ *
+ * <p>When a batch containing sampled sequences is dispatched, the time each of them
+ * spent in the ring is recorded as queue delay, and the time the consumer spent on
+ * the batch, divided by its size, is recorded as handler time. Batches without a
+ * sampled sequence cost a single range check.</p>
+ *
+ * @see ChannelOptions#latencySampling(int)
+ */
+final class LatencySampler {
+    private static final int SCALE_FACTOR = 3;
+
+    private final long interval;
+    private final long shift;
+    private final long mask;
+    private final NativeMemory.Block memory;
+    private final LatencyHistogram queueDelay = new LatencyHistogram();
+    private final LatencyHistogram handlerTime = new LatencyHistogram();
+
+    /**
+     * Creates a sampler for a ring of the given size.
+     *
+     * @param size     the ring buffer size (must be a power of 2)
+     * @param interval the distance between sampled sequences (must be a power of 2)
+     * @param aligned  whether the timestamps are allocated on whole, page-aligned pages
+     */
+    LatencySampler(int size, int interval, boolean aligned) {
+        int slots = Integer.max(1, size / interval);
+        this.interval = interval;
+        this.shift = Util.log2(interval);
+        this.mask = slots - 1;
+        long capacity = ((long) slots << SCALE_FACTOR) + (Constants.BYTE_BUFFER_PADDING << 1);
+        this.memory = NativeMemory.allocate(capacity, (byte) 0, aligned);
+    }
+
+    /**
+     * Releases the off-heap timestamps. The sampler must not stamp or measure afterwards.
+     */
+    void free() {
+        memory.free();
+    }
+
+    private long calculateOffset(long sequence) {
+        return (Util.wrapLongIndex(sequence >>> shift, mask) << SCALE_FACTOR) + Constants.BYTE_BUFFER_PADDING;
+    }
+
+    private long firstSampled(long low) {
+        return (low + interval - 1) & -interval;
+    }
+
+    /**
+     * Tells whether any sequence in the range [low, high] is sampled.
+     */
+    boolean isSampled(long low, long high) {
+        return firstSampled(low) <= high;
+    }
+
+    /**
+     * Stores the current time for every sampled sequence in the range [low, high].
+     * Must be called before the range is published, so consumers observe the
+     * timestamps together with the items.
+     */
+    void stamp(long low, long high) {
+        long sequence = firstSampled(low);
+        if (sequence <= high) {
+            long now = System.nanoTime();
+            for (; sequence <= high; sequence += interval) {
+                memory.putLong(calculateOffset(sequence), now);
+            }
+        }
+    }
+
+    /**
+     * Records the queue delay of every sampled sequence in the range [low, high],
+     * measured up to {@code start}. Must be called before the range is released.
+     */
+    void onDispatchStart(long low, long high, long start) {
+        for (long sequence = firstSampled(low); sequence <= high; sequence += interval) {
+            queueDelay.record(start - memory.getLong(calculateOffset(sequence)));
+        }
+    }
+
+    /**
+     * Records the average handler time of the items in the range [low, high].
+     */
+    void onDispatchEnd(long low, long high, long start, long end) {
+        handlerTime.record((end - start) / (high - low + 1));
+    }
+
+    LatencyHistogram queueDelay() {
+        return queueDelay;
+    }
+
+    LatencyHistogram handlerTime() {
+        return handlerTime;
+    }
+
+    void reset() {
+        queueDelay.reset();
+        handlerTime.reset();
+    }
+}
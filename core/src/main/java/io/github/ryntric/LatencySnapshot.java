@@ -0,0 +1,93 @@
+package io.github.ryntric;
+
+/**
+ * An immutable view of a {@link LatencyHistogram} at a point in time.
+ * <p>
+ * All values are in nanoseconds. Percentiles are reported as the upper bound of the
+ * bucket they fall into, so they never underestimate the recorded latency by more
+ * than the resolution of the histogram.
+ * </p>
+ *
+ * @see LatencyHistogram#snapshot()
+ * @see LatencyHistogram#intervalSnapshot()
+ */
+public final class LatencySnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    LatencySnapshot(long[] counts, long sum, long max) {
+        long total = 0L;
+        for (long bucket : counts) {
+            total += bucket;
+        }
+        this.counts = counts;
+        this.count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /** @return the number of recorded latencies */
+    public long getCount() {
+        return count;
+    }
+
+    /** @return the mean latency, {@code 0} if nothing was recorded */
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /** @return the median latency */
+    public long getP50() {
+        return getValueAtPercentile(50.0);
+    }
+
+    /** @return the 99th percentile latency */
+    public long getP99() {
+        return getValueAtPercentile(99.0);
+    }
+
+    /** @return the 99.9th percentile latency */
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    /** @return the highest recorded latency */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the latency below or at which the given percentage of the recorded
+     * latencies fall.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the latency at the percentile, {@code 0} if nothing was recorded
+     * @throws IllegalArgumentException if {@code percentile} is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("Percentile " + percentile + " is out of range [0, 100]");
+        }
+        if (count == 0) {
+            return 0L;
+        }
+
+        long rank = Long.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Long.min(LatencyHistogram.highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot{count=" + count + ", mean=" + getMean() + ", p50=" + getP50() + ", p99=" + getP99() +
+                ", p999=" + getP999() + ", max=" + max + '}';
+    }
+}
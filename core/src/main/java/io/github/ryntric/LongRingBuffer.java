@@ -0,0 +1,81 @@
+package io.github.ryntric;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A ring buffer storing primitive {@code long} values in a padded {@code long[]},
+ * so values are published and consumed without boxing.
+ * <p>
+ * Sequencing and polling are shared with {@link RingBuffer} through
+ * {@link AbstractRingBuffer}; this class only provides the storage and acts as the
+ * {@link Dispatcher} that hands claimed ranges to a {@link LongConsumer}.
+ * </p>
+ *
+ * @see LongChannel
+ */
+final class LongRingBuffer extends AbstractRingBuffer implements Dispatcher<LongConsumer> {
+    private final long[] buffer;
+    private final SlotLayout layout;
+
+    LongRingBuffer(Sequencer sequencer, Poller poller, int size, SlotLayout layout) {
+        super(sequencer, poller, size);
+        this.buffer = new long[(Constants.LONG_ARRAY_PADDING << 1) + size];
+        this.layout = layout;
+    }
+
+    private int wrapIndex(long sequence) {
+        return layout.index(sequence) + Constants.LONG_ARRAY_PADDING;
+    }
+
+    @Override
+    public void dispatch(long low, long high, LongConsumer consumer) {
+        for (; low <= high; low++) {
+            long value = buffer[wrapIndex(low)];
+            try {
+                consumer.accept(value);
+            } catch (Throwable ex) {
+                onError(value, low, ex);
+            }
+        }
+    }
+
+    public void push(Coordinator coordinator, long value) {
+        long sequence = sequencer.next(coordinator);
+        buffer[wrapIndex(sequence)] = value;
+        sequencer.publishCursorSequence(sequence);
+    }
+
+    public void push(Coordinator coordinator, long[] values, int offset, int length) {
+        long high = sequencer.next(coordinator, length);
+        long low = high - (length - 1);
+
+        for (int i = 0; i < length; i++) {
+            buffer[wrapIndex(low + i)] = values[offset + i];
+        }
+
+        sequencer.publishCursorSequence(low, high);
+    }
+
+    public boolean push(Coordinator coordinator, long value, long deadline) {
+        long sequence = sequencer.next(coordinator, 1, deadline);
+        if (sequence == Sequencer.INSUFFICIENT_CAPACITY) {
+            return false;
+        }
+
+        buffer[wrapIndex(sequence)] = value;
+        sequencer.publishCursorSequence(sequence);
+        return true;
+    }
+
+    public boolean tryPush(long value) {
+        long sequence = sequencer.tryNext(1);
+        if (sequence == Sequencer.INSUFFICIENT_CAPACITY) {
+            return false;
+        }
+
+        buffer[wrapIndex(sequence)] = value;
+        sequencer.publishCursorSequence(sequence);
+        return true;
+    }
+
+}
@@ -0,0 +1,133 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Maps a {@link ByteRingBuffer} into a file so that several processes can share it.
+ * <p>
+ * The file starts with a header describing the ring, followed by the ring itself
+ * (records, tail and head positions) exactly as laid out by {@link ByteRingBuffer}.
+ * Placing the file on a memory-backed file system such as {@code /dev/shm} keeps the
+ * exchange entirely in memory.
+ * </p>
+ *
+ * Header Layout
+ * <ul>
+ *   <li>{@code 0} – magic number identifying the file.</li>
+ *   <li>{@code 4} – layout version, see {@link #VERSION}.</li>
+ *   <li>{@code 8} – ring capacity in bytes.</li>
+ *   <li>{@code 12} – flags; bit 0 is set for multi-producer rings.</li>
+ * </ul>
+ *
+ * <p>The header is written by the first process that opens the file, under an
+ * exclusive file lock, and the magic number is written last. Processes that open an
+ * existing file validate the magic number, version, capacity and producer mode under
+ * the same lock and refuse to attach on any mismatch. The header is read and written
+ * with plain file I/O; only the ring is mapped, as a {@link NativeMemory.Block} that
+ * {@link ByteChannel#free()} unmaps.</p>
+ *
+ * @see ByteChannel#spsc(Path, int, ProducerWaitStrategyType, ConsumerWaitStrategyType)
+ * @see ByteChannel#mpsc(Path, int, ProducerWaitStrategyType, ConsumerWaitStrategyType)
+ */
+final class MappedRingFile {
+    /** Identifies a ring file; the ASCII characters {@code RYNT}. */
+    static final int MAGIC = 0x52594E54;
+
+    /** The version of the file layout. */
+    static final int VERSION = 2;
+
+    /** The length of the header; the ring starts right after it. */
+    static final int HEADER_LENGTH = Constants.CACHE_LINE_SIZE << 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int FLAGS_OFFSET = 12;
+
+    private static final int MULTI_PRODUCER_FLAG = 1;
+
+    private MappedRingFile() {}
+
+    /**
+     * Creates or opens the ring file at the given path and maps it into memory.
+     *
+     * @param path          the file holding the ring
+     * @param capacity      the number of bytes available for records (must be a power of 2)
+     * @param multiProducer whether the ring is claimed by several producers
+     * @return the mapped ring, suitable for {@link ByteRingBuffer}
+     * @throws IOException if the file cannot be created, mapped or fails validation
+     */
+    static NativeMemory.Block map(Path path, int capacity, boolean multiProducer) throws IOException {
+        Util.assertThatPowerOfTwo(capacity);
+        int length = ByteRingBuffer.requiredCapacity(capacity);
+        int flags = multiProducer ? MULTI_PRODUCER_FLAG : 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                if (channel.size() == 0) {
+                    create(channel, HEADER_LENGTH + (long) length, capacity, flags);
+                } else if (channel.size() < HEADER_LENGTH) {
+                    throw new IOException(path + " is not a ring file");
+                } else {
+                    validate(path, readHeader(channel), capacity, flags);
+                }
+                return NativeMemory.map(channel, HEADER_LENGTH, length);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private static void create(FileChannel channel, long length, int capacity, int flags) throws IOException {
+        channel.write(ByteBuffer.allocate(1), length - 1);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.nativeOrder());
+        header.putInt(VERSION_OFFSET, VERSION);
+        header.putInt(CAPACITY_OFFSET, capacity);
+        header.putInt(FLAGS_OFFSET, flags);
+        write(channel, header, 0);
+
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.nativeOrder());
+        magic.putInt(0, MAGIC);
+        write(channel, magic, MAGIC_OFFSET);
+        channel.force(true);
+    }
+
+    private static void write(FileChannel channel, ByteBuffer src, long position) throws IOException {
+        while (src.hasRemaining()) {
+            position += channel.write(src, position);
+        }
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.nativeOrder());
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // keep reading until the header is complete
+        }
+        return header;
+    }
+
+    private static void validate(Path path, ByteBuffer header, int capacity, int flags) throws IOException {
+        if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException(path + " is not a ring file");
+        }
+        if (header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException(path + " has layout version " + header.getInt(VERSION_OFFSET) + ", expected " + VERSION);
+        }
+        if (header.getInt(CAPACITY_OFFSET) != capacity) {
+            throw new IOException(path + " has capacity " + header.getInt(CAPACITY_OFFSET) + ", expected " + capacity);
+        }
+        if (header.getInt(FLAGS_OFFSET) != flags) {
+            throw new IOException(path + " was created with a different producer mode");
+        }
+    }
+}
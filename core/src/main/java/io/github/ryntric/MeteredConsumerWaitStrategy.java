@@ -0,0 +1,54 @@
+package io.github.ryntric;
+
+/**
+ * A {@link ConsumerWaitStrategy} decorator that counts consumer waits in
+ * {@link ChannelMetrics} before delegating.
+ *
+ * @see ChannelMetrics#getConsumerIdles()
+ */
+final class MeteredConsumerWaitStrategy implements ConsumerWaitStrategy {
+    private final ConsumerWaitStrategy delegate;
+    private final ChannelMetrics metrics;
+
+    MeteredConsumerWaitStrategy(ConsumerWaitStrategy delegate, ChannelMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void await() {
+        await(0);
+    }
+
+    @Override
+    public boolean await(long deadline) {
+        return await(0, deadline);
+    }
+
+    @Override
+    public void await(int attempt) {
+        metrics.onConsumerWait(attempt);
+        delegate.await(attempt);
+    }
+
+    @Override
+    public boolean await(int attempt, long deadline) {
+        metrics.onConsumerWait(attempt);
+        return delegate.await(attempt, deadline);
+    }
+
+    @Override
+    public void signal() {
+        delegate.signal();
+    }
+
+    @Override
+    public boolean wakesSingleConsumer() {
+        return delegate.wakesSingleConsumer();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
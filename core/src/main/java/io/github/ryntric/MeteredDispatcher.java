@@ -0,0 +1,45 @@
+package io.github.ryntric;
+
+/**
+ * A {@link Dispatcher} decorator that records the size of every dispatched batch in
+ * {@link ChannelMetrics}, and the latency of sampled sequences if latency sampling
+ * is enabled.
+ *
+ * @param <C> the type of consumer the elements are delivered to
+ */
+final class MeteredDispatcher<C> implements Dispatcher<C> {
+    private final Dispatcher<C> delegate;
+    private final ChannelMetrics metrics;
+    private final LatencySampler sampler;
+
+    private MeteredDispatcher(Dispatcher<C> delegate, ChannelMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.sampler = metrics.getLatencySampler();
+    }
+
+    /**
+     * Wraps the dispatcher if metrics are enabled.
+     *
+     * @param dispatcher the dispatcher to wrap
+     * @param metrics    the metrics to record into, or {@code null} if metrics are disabled
+     * @return the metered dispatcher, or {@code dispatcher} itself if metrics are disabled
+     */
+    static <C> Dispatcher<C> of(Dispatcher<C> dispatcher, ChannelMetrics metrics) {
+        return metrics == null ? dispatcher : new MeteredDispatcher<>(dispatcher, metrics);
+    }
+
+    @Override
+    public void dispatch(long low, long high, C consumer) {
+        metrics.onBatch(high - low + 1);
+        if (sampler == null || !sampler.isSampled(low, high)) {
+            delegate.dispatch(low, high, consumer);
+            return;
+        }
+
+        long start = System.nanoTime();
+        sampler.onDispatchStart(low, high, start);
+        delegate.dispatch(low, high, consumer);
+        sampler.onDispatchEnd(low, high, start, System.nanoTime());
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.ryntric;
+
+/**
+ * A {@link Poller} decorator that counts empty polls and drained batches in
+ * {@link ChannelMetrics}.
+ * <p>
+ * Batches delivered through {@link #poll(Sequencer, Dispatcher, long, Object)} are
+ * counted by a {@link MeteredDispatcher}, which sees the claimed range.
+ * </p>
+ */
+final class MeteredPoller implements Poller {
+    private final Poller delegate;
+    private final ChannelMetrics metrics;
+
+    MeteredPoller(Poller delegate, ChannelMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <C> PollerState poll(Sequencer sequencer, Dispatcher<C> dispatcher, long batchsize, C consumer) {
+        PollerState state = delegate.poll(sequencer, dispatcher, batchsize, consumer);
+        if (state == PollerState.IDLE) {
+            metrics.onIdlePoll();
+        }
+        return state;
+    }
+
+    @Override
+    public <T> int drain(Sequencer sequencer, RingBuffer<T> ringBuffer, T[] dst, int offset, int max) {
+        int count = delegate.drain(sequencer, ringBuffer, dst, offset, max);
+        if (count == 0) {
+            metrics.onIdlePoll();
+        } else {
+            metrics.onBatch(count);
+        }
+        return count;
+    }
+
+    @Override
+    public void free() {
+        delegate.free();
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.ryntric;
+
+/**
+ * A {@link ProducerWaitStrategy} decorator that counts producer waits in
+ * {@link ChannelMetrics} before delegating.
+ *
+ * @see ChannelMetrics#getProducerStalls()
+ */
+final class MeteredProducerWaitStrategy implements ProducerWaitStrategy {
+    private final ProducerWaitStrategy delegate;
+    private final ChannelMetrics metrics;
+
+    MeteredProducerWaitStrategy(ProducerWaitStrategy delegate, ChannelMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void await() {
+        await(0);
+    }
+
+    @Override
+    public boolean await(long deadline) {
+        return await(0, deadline);
+    }
+
+    @Override
+    public void await(int attempt) {
+        metrics.onProducerWait(attempt);
+        delegate.await(attempt);
+    }
+
+    @Override
+    public boolean await(int attempt, long deadline) {
+        metrics.onProducerWait(attempt);
+        return delegate.await(attempt, deadline);
+    }
+
+    @Override
+    public void signal() {
+        delegate.signal();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
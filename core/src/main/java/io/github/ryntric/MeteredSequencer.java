@@ -0,0 +1,107 @@
+package io.github.ryntric;
+
+/**
+ * A {@link Sequencer} decorator that timestamps sampled sequences for the
+ * {@link LatencySampler} right before they are published.
+ * <p>
+ * It is installed only when latency sampling is enabled, so producers of other
+ * channels publish without any additional work.
+ * </p>
+ */
+final class MeteredSequencer implements Sequencer {
+    private final Sequencer delegate;
+    private final LatencySampler sampler;
+
+    MeteredSequencer(Sequencer delegate, LatencySampler sampler) {
+        this.delegate = delegate;
+        this.sampler = sampler;
+    }
+
+    @Override
+    public long next(Coordinator coordinator, int n) {
+        return delegate.next(coordinator, n);
+    }
+
+    @Override
+    public long tryNext(int n) {
+        return delegate.tryNext(n);
+    }
+
+    @Override
+    public long next(Coordinator coordinator, int n, long deadline) {
+        return delegate.next(coordinator, n, deadline);
+    }
+
+    @Override
+    public void publishCursorSequence(long sequence) {
+        sampler.stamp(sequence, sequence);
+        delegate.publishCursorSequence(sequence);
+    }
+
+    @Override
+    public void publishCursorSequence(long low, long high) {
+        sampler.stamp(low, high);
+        delegate.publishCursorSequence(low, high);
+    }
+
+    @Override
+    public void publishGatingSequence(long sequence) {
+        delegate.publishGatingSequence(sequence);
+    }
+
+    @Override
+    public boolean advanceGatingSequence(long sequence, long current) {
+        return delegate.advanceGatingSequence(sequence, current);
+    }
+
+    @Override
+    public long getHighest(long low, long high) {
+        return delegate.getHighest(low, high);
+    }
+
+    @Override
+    public long getCursorSequenceAcquire() {
+        return delegate.getCursorSequenceAcquire();
+    }
+
+    @Override
+    public long getGatingSequencePlain() {
+        return delegate.getGatingSequencePlain();
+    }
+
+    @Override
+    public long getGatingSequenceAcquire() {
+        return delegate.getGatingSequenceAcquire();
+    }
+
+    @Override
+    public long wait(Coordinator coordinator, long wrapPoint) {
+        return delegate.wait(coordinator, wrapPoint);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return delegate.isCompleted();
+    }
+
+    @Override
+    public boolean isDrained() {
+        return delegate.isDrained();
+    }
+
+    @Override
+    public void free() {
+        delegate.free();
+        sampler.free();
+    }
+}
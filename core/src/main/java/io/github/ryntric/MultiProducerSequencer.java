@@ -62,8 +62,16 @@ final class MultiProducerSequencer extends MultiProducerSequencerRightPaddings {
     private final AvailabilityBuffer availabilityBuffer;
 
     public MultiProducerSequencer(int bufferSize) {
+        this(bufferSize, false);
+    }
+
+    public MultiProducerSequencer(int bufferSize, boolean alignedMemory) {
+        this(bufferSize, alignedMemory, SlotLayout.packed(bufferSize));
+    }
+
+    public MultiProducerSequencer(int bufferSize, boolean alignedMemory, SlotLayout layout) {
         super(bufferSize);
-        this.availabilityBuffer = new AvailabilityBuffer(bufferSize);
+        this.availabilityBuffer = new AvailabilityBuffer(bufferSize, alignedMemory, layout);
     }
 
     @Override
@@ -73,12 +81,37 @@ final class MultiProducerSequencer extends MultiProducerSequencerRightPaddings {
         long wrapPoint = next - bufferSize;
 
         if (wrapPoint > cached) {
-            this.cached = wait(coordinator, gatingSequence, wrapPoint);
+            this.cached = wait(coordinator, wrapPoint);
         }
 
         return next;
     }
 
+    /**
+     * Claims the next {@code n} sequences with a compare-and-set on the cursor,
+     * so the claim is only committed once enough capacity has been observed.
+     *
+     * @see Sequencer#tryNext(int n)
+     */
+    @Override
+    public long tryNext(int n) {
+        Sequence cursorSequence = this.cursorSequence;
+        long current;
+        long next;
+
+        do {
+            current = cursorSequence.getAcquire();
+            next = current + n;
+            long wrapPoint = next - bufferSize;
+
+            if (wrapPoint > cached && wrapPoint > (this.cached = getMinimumGatingSequence())) {
+                return INSUFFICIENT_CAPACITY;
+            }
+        } while (!cursorSequence.weakCompareAndSetVolatile(current, next));
+
+        return next;
+    }
+
     /**
      * @see Sequencer#publishCursorSequence(long sequence)
      */
@@ -102,4 +135,13 @@ final class MultiProducerSequencer extends MultiProducerSequencerRightPaddings {
     public long getHighest(long next, long available) {
         return availabilityBuffer.getAvailable(next, available);
     }
+
+    /**
+     * @see Sequencer#free()
+     */
+    @Override
+    public void free() {
+        super.free();
+        availabilityBuffer.free();
+    }
 }
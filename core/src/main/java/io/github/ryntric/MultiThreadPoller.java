@@ -1,7 +1,6 @@
 package io.github.ryntric;
 
-
-import java.util.function.Consumer;
+import java.lang.invoke.VarHandle;
 
 /**
  * A {@link Poller} implementation for multi-threaded consumers.
@@ -12,7 +11,7 @@ import java.util.function.Consumer;
  * duplicating work.
  * </p>
  *
- * <p>Consumers call {@link #poll(Sequencer, RingBuffer, long, java.util.function.Consumer)}
+ * <p>Consumers call {@link #poll(Sequencer, Dispatcher, long, Object)}
  * to attempt processing up to {@code batchSize} items. If no items are available,
  * it returns {@link PollerState#IDLE}.</p>
  *
@@ -20,41 +19,81 @@ import java.util.function.Consumer;
  * <ul>
  *   <li>Lock-free, low-latency consumption for multi-threaded scenarios.</li>
  *   <li>Tracks and updates sequences atomically using {@link Sequence}.</li>
- *   <li>Handles exceptions in consumer processing gracefully via {@link AbstractPoller#handle}.</li>
+ *   <li>Delegates element delivery, including error handling, to a {@link Dispatcher}.</li>
  *   <li>Advances gating sequence after successful batch processing to allow producers
  *       to continue publishing.</li>
  * </ul>
  *
- * @param <T> the type of items to be consumed
+ * <p>Consumers finish their batches in any order, so a consumer does not simply move
+ * the gating sequence to the end of its own batch: earlier batches may still be in
+ * flight, and their slots must not be handed back to producers. Instead, every
+ * consumer marks its completed range in a ring of completion flags, laid out like the
+ * {@link AvailabilityBuffer} of a multi-producer sequencer, and then moves the gating
+ * sequence over the contiguous prefix of completed sequences. A consumer never waits
+ * for a slower one: the range it leaves behind is swept up by the consumer completing
+ * the batch before it.</p>
+ *
  * @see Poller
- * @see AbstractPoller
+ * @see Dispatcher
  * @see RingBuffer
  * @see Sequence
  */
-final class MultiThreadPoller<T> extends AbstractPoller<T> {
+final class MultiThreadPoller implements Poller {
 
     /** Tracks the last sequence processed by this poller. */
     private final Sequence sequence = new Sequence(Sequence.INITIAL_VALUE);
 
+    /** Marks the sequences whose consumers have finished with them. */
+    private final AvailabilityBuffer completed;
+
+    /**
+     * Creates a poller for a ring of the given size.
+     *
+     * @param bufferSize the ring buffer size (must be a power of 2)
+     */
+    MultiThreadPoller(int bufferSize) {
+        this(bufferSize, false);
+    }
+
+    /**
+     * Creates a poller for a ring of the given size.
+     *
+     * @param bufferSize    the ring buffer size (must be a power of 2)
+     * @param alignedMemory whether the completion flags are allocated on whole, page-aligned pages
+     */
+    MultiThreadPoller(int bufferSize, boolean alignedMemory) {
+        this(bufferSize, alignedMemory, SlotLayout.packed(bufferSize));
+    }
+
+    /**
+     * Creates a poller for a ring of the given size.
+     *
+     * @param bufferSize    the ring buffer size (must be a power of 2)
+     * @param alignedMemory whether the completion flags are allocated on whole, page-aligned pages
+     * @param layout        the mapping of sequences to completion flags
+     */
+    MultiThreadPoller(int bufferSize, boolean alignedMemory, SlotLayout layout) {
+        this.completed = new AvailabilityBuffer(bufferSize, alignedMemory, layout);
+    }
+
     /**
      * Polls the ring buffer for up to {@code batchsize} available items and
-     * processes them using the provided {@link java.util.function.Consumer}.
+     * processes them using the provided consumer.
      * <p>
-     * This method atomically claims a batch of sequences, retrieves items from
-     * the ring buffer, and invokes {@link AbstractPoller#handle} for each item.
-     * After processing, it advances the gating sequence so producers can continue
-     * publishing.
+     * This method atomically claims a batch of sequences and hands them to the
+     * {@link Dispatcher}, which delivers each item to the consumer. After processing,
+     * it marks the batch completed so producers can continue publishing.
      * </p>
      *
      * @param sequencer  the sequencer managing sequence availability
-     * @param ringBuffer the ring buffer containing items to process
+     * @param dispatcher the dispatcher delivering the claimed items
      * @param batchsize  the maximum number of items to process in this poll
-     * @param consumer   the consumer function to handle each item
+     * @param consumer   the consumer to handle each item
      * @return {@link PollerState#PROCESSING} if items were processed,
      *         {@link PollerState#IDLE} if no items were available
      */
     @Override
-    public PollerState poll(Sequencer sequencer, RingBuffer<T> ringBuffer, long batchsize, Consumer<T> consumer) {
+    public <C> PollerState poll(Sequencer sequencer, Dispatcher<C> dispatcher, long batchsize, C consumer) {
         long current;
         long next;
         long available;
@@ -70,14 +109,82 @@ final class MultiThreadPoller<T> extends AbstractPoller<T> {
             }
 
             highest = sequencer.getHighest(next, available);
+            if (highest < next) {
+                return PollerState.IDLE;
+            }
         } while (!sequence.weakCompareAndSetVolatile(current, highest));
 
-        for (; next <= highest; next++) {
-            handle(consumer, ringBuffer.dequeue(next), next);
-        }
+        dispatcher.dispatch(next, highest, consumer);
 
-        sequencer.advanceGatingSequence(highest, current);
+        complete(sequencer, next, highest);
         return PollerState.PROCESSING;
     }
 
+    /**
+     * Claims up to {@code max} available items in the same way as
+     * {@link #poll(Sequencer, Dispatcher, long, Object)} and copies them into
+     * {@code dst} instead of invoking a consumer per item.
+     *
+     * @see Poller#drain(Sequencer, RingBuffer, Object[], int, int)
+     */
+    @Override
+    public <T> int drain(Sequencer sequencer, RingBuffer<T> ringBuffer, T[] dst, int offset, int max) {
+        long current;
+        long next;
+        long available;
+        long highest;
+
+        do {
+            current = sequence.getAcquire();
+            next = current + 1;
+            available = Long.min(sequencer.getCursorSequenceAcquire(), current + max);
+
+            if (next > available) {
+                return 0;
+            }
+
+            highest = sequencer.getHighest(next, available);
+            if (highest < next) {
+                return 0;
+            }
+        } while (!sequence.weakCompareAndSetVolatile(current, highest));
+
+        ringBuffer.drainTo(next, highest, dst, offset);
+
+        complete(sequencer, next, highest);
+        return (int) (highest - current);
+    }
+
+    /**
+     * Marks the range [low, high] completed and moves the gating sequence over every
+     * completed sequence that directly follows it.
+     * <p>
+     * The full fence orders the marks before the read of the gating sequence and of
+     * the other flags. Of two consumers completing neighbouring ranges at the same
+     * time, at least one therefore sees the range of the other and advances over both.
+     * A failed compare-and-set means another consumer has moved the gating sequence;
+     * the scan is repeated from its new value, so no range is left behind.
+     * </p>
+     */
+    private void complete(Sequencer sequencer, long low, long high) {
+        completed.setRange(low, high);
+        VarHandle.fullFence();
+
+        long gating = sequencer.getGatingSequencePlain();
+        long claimed = sequence.getAcquire();
+        long done;
+        while ((done = completed.getAvailable(gating + 1, claimed)) > gating
+                && !sequencer.advanceGatingSequence(done, gating)) {
+            gating = sequencer.getGatingSequencePlain();
+        }
+    }
+
+    /**
+     * Releases the completion flags.
+     */
+    @Override
+    public void free() {
+        completed.free();
+    }
+
 }
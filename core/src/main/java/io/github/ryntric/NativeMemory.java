@@ -0,0 +1,280 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.UnsafeUtil;
+import sun.misc.Unsafe;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide accounting of the off-heap memory held by channels.
+ * <p>
+ * Multi-producer channels keep their availability flags off-heap, multi-consumer
+ * channels their completion flags, and sampled channels the timestamps of
+ * {@link ChannelOptions#latencySampling(int) latency sampling}, and a
+ * {@link ByteChannel} its whole ring. That memory is released by {@link Channel#free()}
+ * and {@link ByteChannel#free()}, or by a {@link Cleaner} once a channel nobody
+ * freed has become unreachable. The counters below include the padding and alignment
+ * of every block, so {@link #usedBytes()} is exactly what the library holds at the
+ * moment.
+ * </p>
+ *
+ * <p>This is the only class reading and writing that memory. On Java 22 and later the
+ * multi-release JAR replaces it with a version built on {@code MemorySegment} and
+ * {@code Arena}, which does not use {@code sun.misc.Unsafe}.</p>
+ *
+ * @see Channel#free()
+ * @see ChannelOptions#alignedMemory()
+ */
+public final class NativeMemory {
+    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
+
+    private static final Cleaner CLEANER = Cleaner.create(runnable -> {
+        Thread thread = new Thread(runnable, "channel-memory-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicLong ALLOCATED = new AtomicLong();
+    private static final AtomicLong FREED = new AtomicLong();
+
+    private NativeMemory() {}
+
+    /**
+     * Returns the number of bytes allocated since the start of the process.
+     *
+     * @return the allocated bytes
+     */
+    public static long allocatedBytes() {
+        return ALLOCATED.get();
+    }
+
+    /**
+     * Returns the number of bytes released since the start of the process.
+     *
+     * @return the freed bytes
+     */
+    public static long freedBytes() {
+        return FREED.get();
+    }
+
+    /**
+     * Returns the number of bytes currently held.
+     *
+     * @return the allocated bytes not freed yet
+     */
+    public static long usedBytes() {
+        long freed = FREED.get();
+        return ALLOCATED.get() - freed;
+    }
+
+    /**
+     * Allocates a block and fills it with the given value.
+     * <p>
+     * An aligned block starts on a page boundary and spans whole pages, so it shares no
+     * page, and no cache line, with other allocations. The fill writes every page, so
+     * either kind of block is backed by physical memory before it is returned.
+     * </p>
+     *
+     * @param bytes   the usable size of the block
+     * @param value   the value every byte is set to
+     * @param aligned whether the block is page-aligned
+     * @return the allocated block
+     */
+    static Block allocate(long bytes, byte value, boolean aligned) {
+        long reserved = bytes;
+        if (aligned) {
+            long pageSize = UNSAFE.pageSize();
+            bytes = (bytes + pageSize - 1) & -pageSize;
+            reserved = bytes + pageSize - 1;
+        }
+
+        long rawAddress = UNSAFE.allocateMemory(reserved);
+        ALLOCATED.addAndGet(reserved);
+        long address = aligned ? (rawAddress + UNSAFE.pageSize() - 1) & -UNSAFE.pageSize() : rawAddress;
+        UNSAFE.setMemory(address, bytes, value);
+        return new Block(address, new Deallocator(rawAddress, reserved));
+    }
+
+    /**
+     * Allocates a zeroed block aligned to a cache line that can also be accessed as a
+     * direct {@link ByteBuffer}.
+     * <p>
+     * The block is carved out of a direct buffer, which releases its memory itself once
+     * it becomes unreachable. The accounting therefore tracks that buffer rather than the
+     * block, since views returned by {@link Block#buffer()} keep it alive.
+     * </p>
+     *
+     * @param bytes the usable size of the block
+     * @return the allocated block
+     */
+    static Block allocateBuffer(int bytes) {
+        int reserved = bytes + Constants.CACHE_LINE_SIZE - 1;
+        ByteBuffer root = ByteBuffer.allocateDirect(reserved);
+        ALLOCATED.addAndGet(reserved);
+        int start = (Constants.CACHE_LINE_SIZE - root.alignmentOffset(0, Constants.CACHE_LINE_SIZE)) & (Constants.CACHE_LINE_SIZE - 1);
+        ByteBuffer buffer = root.duplicate().position(start).limit(start + bytes).slice();
+        return new Block(UnsafeUtil.getAddress(buffer), buffer, root, new Deallocator(0, reserved));
+    }
+
+    /**
+     * Maps a region of a file as a block that can also be accessed as a direct
+     * {@link ByteBuffer}.
+     * <p>
+     * Freeing the block unmaps the region. Mapped memory is backed by the file rather
+     * than allocated by the library, so it is not counted.
+     * </p>
+     *
+     * @param channel  the file, opened for reading and writing
+     * @param position the position of the region within the file
+     * @param bytes    the size of the region
+     * @return the mapped block
+     * @throws IOException if the region cannot be mapped
+     */
+    static Block map(FileChannel channel, long position, int bytes) throws IOException {
+        ByteBuffer root = channel.map(FileChannel.MapMode.READ_WRITE, position, bytes);
+        return new Block(UnsafeUtil.getAddress(root), root, root, new Deallocator(0, 0));
+    }
+
+    /**
+     * An off-heap block, released by {@link #free()} or when it becomes unreachable.
+     * The block is accessed through its own methods, at offsets from its start, so the
+     * owner keeps it reachable for as long as it uses the memory.
+     */
+    static final class Block {
+        private final long address;
+        private final ByteBuffer buffer;
+        private final ByteBuffer root;
+        private final Cleaner.Cleanable cleanable;
+
+        private Block(long address, Deallocator deallocator) {
+            this(address, null, null, deallocator);
+        }
+
+        private Block(long address, ByteBuffer buffer, ByteBuffer root, Deallocator deallocator) {
+            this.address = address;
+            this.buffer = buffer;
+            this.root = root;
+            this.cleanable = CLEANER.register(root != null ? root : this, deallocator);
+        }
+
+        /**
+         * Returns a view of a block allocated by {@link #allocateBuffer(int)} or
+         * {@link #map(FileChannel, long, int)}.
+         */
+        ByteBuffer buffer() {
+            return buffer.duplicate();
+        }
+
+        int getInt(long offset) {
+            return UNSAFE.getInt(null, address + offset);
+        }
+
+        int getIntVolatile(long offset) {
+            return UNSAFE.getIntVolatile(null, address + offset);
+        }
+
+        long getLong(long offset) {
+            return UNSAFE.getLong(null, address + offset);
+        }
+
+        long getLongVolatile(long offset) {
+            return UNSAFE.getLongVolatile(null, address + offset);
+        }
+
+        /**
+         * Returns how many of the {@code max} consecutive {@code long}s starting at
+         * {@code offset} are equal to {@code value}, stopping at the first that is not.
+         */
+        int countLongs(long offset, int max, long value) {
+            long start = address + offset;
+            for (int i = 0; i < max; i++) {
+                if (UNSAFE.getLong(null, start + ((long) i << 3)) != value) {
+                    return i;
+                }
+            }
+            return max;
+        }
+
+        void putInt(long offset, int value) {
+            UNSAFE.putInt(null, address + offset, value);
+        }
+
+        /**
+         * Writes the value with release semantics: no earlier write is reordered past it.
+         */
+        void putIntRelease(long offset, int value) {
+            UNSAFE.putOrderedInt(null, address + offset, value);
+        }
+
+        void putIntVolatile(long offset, int value) {
+            UNSAFE.putIntVolatile(null, address + offset, value);
+        }
+
+        void putLong(long offset, long value) {
+            UNSAFE.putLong(null, address + offset, value);
+        }
+
+        /**
+         * Writes the value with release semantics: no earlier write is reordered past it.
+         */
+        void putLongRelease(long offset, long value) {
+            UNSAFE.putOrderedLong(null, address + offset, value);
+        }
+
+        long getAndAddLong(long offset, long delta) {
+            return UNSAFE.getAndAddLong(null, address + offset, delta);
+        }
+
+        boolean compareAndSetLong(long offset, long expected, long value) {
+            return UNSAFE.compareAndSwapLong(null, address + offset, expected, value);
+        }
+
+        /**
+         * Copies {@code length} bytes of {@code src}, starting at {@code srcOffset}, to the block.
+         */
+        void copyFrom(byte[] src, int srcOffset, long offset, int length) {
+            UNSAFE.copyMemory(src, Unsafe.ARRAY_BYTE_BASE_OFFSET + srcOffset, null, address + offset, length);
+        }
+
+        void fill(long offset, long bytes, byte value) {
+            UNSAFE.setMemory(address + offset, bytes, value);
+        }
+
+        /**
+         * Releases the block. Later calls do nothing.
+         */
+        void free() {
+            if (root != null) {
+                UNSAFE.invokeCleaner(root);
+            }
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Releases the memory of a block. Holds no reference to the block itself, so the
+     * block can become phantom reachable. Blocks carved out of a direct buffer have no
+     * raw address; the buffer releases their memory.
+     */
+    private static final class Deallocator implements Runnable {
+        private final long rawAddress;
+        private final long reserved;
+
+        Deallocator(long rawAddress, long reserved) {
+            this.rawAddress = rawAddress;
+            this.reserved = reserved;
+        }
+
+        @Override
+        public void run() {
+            if (rawAddress != 0) {
+                UNSAFE.freeMemory(rawAddress);
+            }
+            FREED.addAndGet(reserved);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.ryntric;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The thresholds of the {@link ProducerWaitStrategyType#PHASED} and
+ * {@link ConsumerWaitStrategyType#PHASED} wait strategies.
+ * <p>
+ * A phased waiter moves through four phases, counted in consecutive unsuccessful
+ * attempts to make progress:
+ * </p>
+ * <ol>
+ *   <li>it spins with {@link Thread#onSpinWait()} for {@code spinIterations} attempts,</li>
+ *   <li>then yields with {@link Thread#yield()} for {@code yieldIterations} attempts,</li>
+ *   <li>then parks, starting at {@code minParkNanos} and doubling the timeout on every
+ *       attempt until it would exceed {@code maxParkNanos},</li>
+ *   <li>and finally blocks until it is signalled.</li>
+ * </ol>
+ *
+ * <p>As soon as the waiter makes progress its attempt count starts over, so a
+ * channel under steady traffic stays in the spinning phase, while an idle channel
+ * ends up costing no CPU at all.</p>
+ *
+ * Usage Example
+ * <pre>{@code
+ * Channel<Order> channel = Channel.mpsc(
+ *     1024,
+ *     ProducerWaitStrategyType.YIELDING,
+ *     ConsumerWaitStrategyType.PHASED,
+ *     new ChannelOptions().phasedBackoff(new PhasedBackoff(20_000, 100, 1_000, 1_000_000))
+ * );
+ * }</pre>
+ *
+ * @see ChannelOptions#phasedBackoff(PhasedBackoff)
+ */
+public final class PhasedBackoff {
+    private static final PhasedBackoff DEFAULTS = new PhasedBackoff(10_000, 100, 1_000L, 1_000_000L);
+
+    private final int spinIterations;
+    private final int yieldIterations;
+    private final long minParkNanos;
+    private final long maxParkNanos;
+    private final int parkIterations;
+
+    /**
+     * Creates phased backoff thresholds.
+     *
+     * @param spinIterations  the number of attempts spent spinning
+     * @param yieldIterations the number of attempts spent yielding
+     * @param minParkNanos    the timeout of the first park, in nanoseconds
+     * @param maxParkNanos    the largest park timeout before the waiter blocks, in nanoseconds
+     * @throws IllegalArgumentException if an iteration count is negative, or the park
+     *                                  timeouts are not positive and ordered
+     */
+    public PhasedBackoff(int spinIterations, int yieldIterations, long minParkNanos, long maxParkNanos) {
+        if (spinIterations < 0 || yieldIterations < 0) {
+            throw new IllegalArgumentException("Iteration counts must not be negative");
+        }
+        if (minParkNanos <= 0 || maxParkNanos < minParkNanos) {
+            throw new IllegalArgumentException("Park timeouts must satisfy 0 < minParkNanos <= maxParkNanos");
+        }
+        this.spinIterations = spinIterations;
+        this.yieldIterations = yieldIterations;
+        this.minParkNanos = minParkNanos;
+        this.maxParkNanos = maxParkNanos;
+        this.parkIterations = 64 - Long.numberOfLeadingZeros(maxParkNanos / minParkNanos);
+    }
+
+    /**
+     * Returns the default thresholds: 10,000 spins, 100 yields, then parks from
+     * 1 microsecond up to 1 millisecond.
+     *
+     * @return the default thresholds
+     */
+    public static PhasedBackoff defaults() {
+        return DEFAULTS;
+    }
+
+    public int getSpinIterations() {
+        return spinIterations;
+    }
+
+    public int getYieldIterations() {
+        return yieldIterations;
+    }
+
+    public long getMinParkNanos() {
+        return minParkNanos;
+    }
+
+    public long getMaxParkNanos() {
+        return maxParkNanos;
+    }
+
+    /**
+     * Performs the spin, yield or park step of the given attempt.
+     *
+     * @param attempt the number of consecutive unsuccessful attempts so far
+     * @return {@code false} if the attempt belongs to the blocking phase and nothing was done
+     */
+    boolean backoff(int attempt) {
+        return backoff(attempt, Long.MAX_VALUE);
+    }
+
+    /**
+     * Performs the spin, yield or park step of the given attempt, parking no longer
+     * than {@code remaining} nanoseconds.
+     *
+     * @param attempt   the number of consecutive unsuccessful attempts so far
+     * @param remaining the time left until the caller's deadline, in nanoseconds
+     * @return {@code false} if the attempt belongs to the blocking phase and nothing was done
+     */
+    boolean backoff(int attempt, long remaining) {
+        // a negative attempt means the counter overflowed deep into the blocking phase
+        if (attempt < 0) {
+            return false;
+        }
+        if (attempt < spinIterations) {
+            Thread.onSpinWait();
+            return true;
+        }
+        attempt -= spinIterations;
+        if (attempt < yieldIterations) {
+            Thread.yield();
+            return true;
+        }
+        attempt -= yieldIterations;
+        if (attempt < parkIterations) {
+            LockSupport.parkNanos(Long.min(minParkNanos << attempt, remaining));
+            return true;
+        }
+        return false;
+    }
+}
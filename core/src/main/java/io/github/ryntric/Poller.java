@@ -1,40 +1,65 @@
 package io.github.ryntric;
 
-import java.util.function.Consumer;
-
 
 /**
- * Defines a strategy for consuming items from a {@link RingBuffer}.
+ * Defines a strategy for consuming items from a ring buffer.
  * <p>
- * A {@code Poller} is responsible for safely retrieving available items from
- * the ring buffer and passing them to a {@link Consumer} for processing.
- * Implementations may vary depending on single-threaded or multi-threaded
- * consumer scenarios.
+ * A {@code Poller} is responsible for safely claiming a range of available
+ * sequences and handing it to a {@link Dispatcher}, which delivers the stored
+ * elements to a consumer. Implementations may vary depending on single-threaded
+ * or multi-threaded consumer scenarios.
  * </p>
  *
- * <p>Typical usage involves repeatedly calling {@link #poll(Sequencer, RingBuffer, long, Consumer)}
+ * <p>Typical usage involves repeatedly calling {@link #poll(Sequencer, Dispatcher, long, Object)}
  * in a consumer loop. The poller ensures correct sequencing, batch processing,
- * and thread-safe access to the buffer.</p>
+ * and thread-safe access to the buffer. Because it only deals with sequences,
+ * the same poller serves reference and primitive ring buffers alike.</p>
  *
- * @param <T> the type of items stored in the ring buffer
  * @see RingBuffer
  * @see Sequencer
+ * @see Dispatcher
  * @see MultiThreadPoller
  * @see SingleThreadPoller
  */
-interface Poller<T> {
+interface Poller {
 
     /**
-     * Attempts to poll up to {@code batchsize} items from the {@link RingBuffer} and
-     * process them using the provided {@link Consumer}.
+     * Attempts to claim up to {@code batchsize} available sequences and deliver
+     * the corresponding elements to the provided consumer.
      *
      * @param sequencer  the sequencer that manages sequence availability
-     * @param ringBuffer the ring buffer containing items to process
+     * @param dispatcher the dispatcher that delivers the claimed elements
      * @param batchsize  the maximum number of items to process in this poll
-     * @param consumer   the consumer function to handle each item
+     * @param consumer   the consumer to handle each item
+     * @param <C>        the type of consumer
      * @return {@link PollerState#PROCESSING} if one or more items were processed,
      *         {@link PollerState#IDLE} if no items were available
      */
-    PollerState poll(Sequencer sequencer, RingBuffer<T> ringBuffer, long batchsize, Consumer<T> consumer);
+    <C> PollerState poll(Sequencer sequencer, Dispatcher<C> dispatcher, long batchsize, C consumer);
+
+    /**
+     * Attempts to claim up to {@code max} available sequences and copy the
+     * corresponding items into {@code dst}, starting at {@code offset}.
+     * <p>
+     * Unlike {@link #poll(Sequencer, Dispatcher, long, Object)}, no callback is
+     * invoked per item; the claimed range is copied straight out of the ring.
+     * </p>
+     *
+     * @param sequencer  the sequencer that manages sequence availability
+     * @param ringBuffer the ring buffer holding the items
+     * @param dst        the destination array
+     * @param offset     the index in {@code dst} of the first copied item
+     * @param max        the maximum number of items to copy
+     * @param <T>        the type of items stored in the ring buffer
+     * @return the number of items copied, {@code 0} if no items were available
+     */
+    <T> int drain(Sequencer sequencer, RingBuffer<T> ringBuffer, T[] dst, int offset, int max);
+
+    /**
+     * Releases the off-heap memory of the poller, if it has any. The poller must not
+     * be used afterwards.
+     */
+    default void free() {
+    }
 
 }
@@ -0,0 +1,58 @@
+package io.github.ryntric;
+
+/**
+ * A blocking {@link ProducerWaitStrategy} that parks the producer until a consumer
+ * frees capacity.
+ * <p>
+ * Producers waiting for capacity register in a {@link WaitQueue} and are woken
+ * individually when consumers advance past a batch, see
+ * {@link Coordinator#wakeupProducer()}. While no producer waits, that signal costs
+ * consumers a fence and a single volatile read.
+ * </p>
+ *
+ * <p>{@link #await()} may return without parking: the first call of a wait only
+ * registers the producer, so that the caller re-checks the gating sequence once
+ * more before the producer parks.</p>
+ *
+ * Characteristics
+ * <ul>
+ *   <li>No CPU usage while the buffer stays full.</li>
+ *   <li>Wake-up latency of a thread unpark once capacity is freed.</li>
+ *   <li>Suitable for producers that often sit behind slow consumers.</li>
+ * </ul>
+ *
+ * @see ProducerWaitStrategy
+ * @see WaitQueue
+ */
+final class ProducerBlockingStrategy implements ProducerWaitStrategy {
+    private final WaitQueue waitQueue = new WaitQueue();
+
+    /**
+     * Registers the producer on the first call and parks it on the next one,
+     * until {@link #signal()} is invoked.
+     */
+    @Override
+    public void await() {
+        waitQueue.await();
+    }
+
+    /**
+     * Registers the producer on the first call and parks it on the next one,
+     * until {@link #signal()} is invoked or the deadline elapses.
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(long deadline) {
+        return waitQueue.await(deadline);
+    }
+
+    /**
+     * Wakes the parked producers, if any.
+     */
+    @Override
+    public void signal() {
+        waitQueue.signal();
+    }
+}
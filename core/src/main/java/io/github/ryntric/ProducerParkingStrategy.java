@@ -34,4 +34,31 @@ final class ProducerParkingStrategy implements ProducerWaitStrategy {
     public void await() {
         LockSupport.parkNanos(1L);
     }
+
+    /**
+     * Performs a single backoff step unless the deadline has already elapsed.
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(long deadline) {
+        if (deadline - System.nanoTime() <= 0) {
+            return false;
+        }
+        LockSupport.parkNanos(1L);
+        return true;
+    }
+
+    /**
+     * No-op for this strategy.
+     * <p>
+     * The producer thread resumes automatically after the park duration,
+     * so explicit signaling is not required.
+     * </p>
+     */
+    @Override
+    public void signal() {
+        // no-op
+    }
 }
@@ -0,0 +1,72 @@
+package io.github.ryntric;
+
+/**
+ * A {@link ProducerWaitStrategy} that spins, then yields, then parks with growing
+ * timeouts and finally blocks until consumers free capacity.
+ * <p>
+ * The phases are driven by the attempt count passed by the producer loop and
+ * bounded by a {@link PhasedBackoff}. In the blocking phase the producer waits in
+ * a {@link WaitQueue}, like {@link ProducerBlockingStrategy}.
+ * </p>
+ *
+ * @see PhasedBackoff
+ * @see ProducerWaitStrategy
+ */
+final class ProducerPhasedStrategy implements ProducerWaitStrategy {
+    private final PhasedBackoff backoff;
+    private final WaitQueue waitQueue = new WaitQueue();
+
+    ProducerPhasedStrategy(PhasedBackoff backoff) {
+        this.backoff = backoff;
+    }
+
+    /**
+     * Performs the first backoff step; equivalent to {@code await(0)}.
+     */
+    @Override
+    public void await() {
+        await(0);
+    }
+
+    @Override
+    public boolean await(long deadline) {
+        return await(0, deadline);
+    }
+
+    /**
+     * Spins, yields, parks or blocks, depending on the phase the attempt falls into.
+     *
+     * @param attempt the number of consecutive unsuccessful claims
+     */
+    @Override
+    public void await(int attempt) {
+        if (!backoff.backoff(attempt)) {
+            waitQueue.await();
+        }
+    }
+
+    /**
+     * Spins, yields, parks or blocks, depending on the phase the attempt falls into,
+     * but no longer than the given deadline.
+     *
+     * @param attempt  the number of consecutive unsuccessful claims
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(int attempt, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        return backoff.backoff(attempt, remaining) || waitQueue.await(deadline);
+    }
+
+    /**
+     * Wakes the producers that reached the blocking phase, if any.
+     */
+    @Override
+    public void signal() {
+        waitQueue.signal();
+    }
+}
@@ -35,4 +35,67 @@ interface ProducerWaitStrategy {
      * </p>
      */
     void await();
+
+    /**
+     * Causes the producer thread to wait according to the configured strategy,
+     * but never beyond the given deadline.
+     * <p>
+     * The deadline is expressed in {@link System#nanoTime()} units. This method
+     * performs at most one backoff step and reports whether the caller may
+     * keep waiting.
+     * </p>
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    boolean await(long deadline);
+
+    /**
+     * Causes the producer thread to wait after {@code attempt} consecutive
+     * unsuccessful attempts to claim capacity.
+     * <p>
+     * The attempt count starts at {@code 0} every time the producer begins to wait
+     * and lets strategies such as {@link ProducerPhasedStrategy} escalate their
+     * backoff. By default it is ignored and {@link #await()} is invoked.
+     * </p>
+     *
+     * @param attempt the number of consecutive unsuccessful claims
+     */
+    default void await(int attempt) {
+        await();
+    }
+
+    /**
+     * Causes the producer thread to wait after {@code attempt} consecutive
+     * unsuccessful attempts to claim capacity, but never beyond the given deadline.
+     * <p>
+     * By default the attempt count is ignored and {@link #await(long)} is invoked.
+     * </p>
+     *
+     * @param attempt  the number of consecutive unsuccessful claims
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    default boolean await(int attempt, long deadline) {
+        return await(deadline);
+    }
+
+    /**
+     * Invoked after consumers have freed capacity.
+     * <p>
+     * Strategies that poll the gating sequence ignore it, while blocking
+     * strategies use it to wake the producers waiting for capacity.
+     * </p>
+     */
+    void signal();
+
+    /**
+     * Invoked once the channel is closed, to wake every waiting producer.
+     * <p>
+     * By default {@link #signal()} is invoked.
+     * </p>
+     */
+    default void close() {
+        signal();
+    }
 }
@@ -12,6 +12,8 @@ package io.github.ryntric;
  *   <li>{@link #SPINNING} – The producer continuously spins, minimizing latency at the cost of higher CPU usage.</li>
  *   <li>{@link #PARKING} – The producer briefly parks the thread using {@link java.util.concurrent.locks.LockSupport}, reducing CPU usage.</li>
  *   <li>{@link #YIELDING} – The producer yields the CPU to allow other threads to run, providing a balance between latency and CPU usage.</li>
+ *   <li>{@link #BLOCKING} – The producer blocks until consumers free capacity, minimizing CPU usage.</li>
+ *   <li>{@link #PHASED} – The producer spins, then yields, then parks with growing timeouts and finally blocks, see {@link PhasedBackoff}.</li>
  * </ul>
  *
  * @see ProducerWaitStrategy
@@ -25,5 +27,11 @@ public enum ProducerWaitStrategyType {
     PARKING,
 
     /** Yields the CPU to other threads, balancing latency and CPU usage. */
-    YIELDING
+    YIELDING,
+
+    /** Blocks the producer thread until consumers free capacity, minimizing CPU usage. */
+    BLOCKING,
+
+    /** Spins, yields, parks and finally blocks while the buffer stays full. */
+    PHASED
 }
@@ -33,4 +33,31 @@ final class ProducerYieldingStrategy implements ProducerWaitStrategy {
     public void await() {
         Thread.yield();
     }
+
+    /**
+     * Performs a single backoff step unless the deadline has already elapsed.
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    @Override
+    public boolean await(long deadline) {
+        if (deadline - System.nanoTime() <= 0) {
+            return false;
+        }
+        Thread.yield();
+        return true;
+    }
+
+    /**
+     * No-op for this strategy.
+     * <p>
+     * The producer thread keeps yielding and re-checking capacity, so
+     * explicit signaling is not required.
+     * </p>
+     */
+    @Override
+    public void signal() {
+        // no-op
+    }
 }
@@ -0,0 +1,28 @@
+package io.github.ryntric;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Callback receiving the records of a {@link ByteChannel}.
+ * <p>
+ * The record is not copied: {@code buffer} is a read-only view over the whole ring
+ * and the record occupies {@code length} bytes starting at {@code offset}. Use the
+ * absolute {@code get} methods of {@link ByteBuffer} to read it. The bytes are only
+ * valid for the duration of the call, after which the space is handed back to
+ * producers.
+ * </p>
+ *
+ * @see ByteChannel#receive(int, RecordHandler)
+ */
+@FunctionalInterface
+public interface RecordHandler {
+
+    /**
+     * Handles a single record.
+     *
+     * @param buffer a read-only view over the ring holding the record
+     * @param offset the index of the first byte of the record within {@code buffer}
+     * @param length the number of bytes in the record
+     */
+    void onRecord(ByteBuffer buffer, int offset, int length);
+}
@@ -1,52 +1,155 @@
 package io.github.ryntric;
 
-import io.github.ryntric.util.Util;
-
 import java.util.function.Consumer;
 
 @SuppressWarnings("unchecked")
-final class RingBuffer<T> {
+final class RingBuffer<T> extends AbstractRingBuffer implements Dispatcher<Consumer<T>> {
     private final T[] buffer;
-    private final int size;
-    private final int mask;
-    private final Sequencer sequencer;
-    private final Poller<T> poller;
+    private final SlotLayout layout;
+    private final boolean preallocated;
+    private final boolean clearing;
+    private final Dispatcher<Consumer<T>> dispatcher;
+    private final Dispatcher<BatchHandler<T>> batchDispatcher;
+
+    RingBuffer(Sequencer sequencer, Poller poller, int size) {
+        this(sequencer, poller, size, (ChannelMetrics) null);
+    }
 
-    RingBuffer(Sequencer sequencer, Poller<T> poller, int size) {
-        this.size = Util.assertThatPowerOfTwo(size);
-        this.mask = size - 1;
-        this.sequencer = sequencer;
-        this.poller = poller;
-        this.buffer = (T[]) new Object[(Constants.OBJECT_ARRAY_PADDING << 1) + size];
+    RingBuffer(Sequencer sequencer, Poller poller, int size, ChannelMetrics metrics) {
+        this(sequencer, poller, size, metrics, SlotLayout.packed(size));
     }
 
-    private int wrapIndex(long sequence, long mask) {
-        return Util.wrapIndex(sequence, mask) + Constants.OBJECT_ARRAY_PADDING;
+    RingBuffer(Sequencer sequencer, Poller poller, int size, ChannelMetrics metrics, SlotLayout layout) {
+        this(sequencer, poller, size, metrics, layout, null);
     }
 
-    void drainTo(long low, long high, T[] dst) {
+    /**
+     * Creates a ring buffer of its own slots. With a factory, every slot is populated
+     * up front and the events are reused lap after lap; without one, producers store
+     * references and consumers clear the slots they have handled.
+     */
+    RingBuffer(Sequencer sequencer, Poller poller, int size, ChannelMetrics metrics, SlotLayout layout, EventFactory<T> factory) {
+        super(sequencer, poller, size);
+        this.buffer = newBuffer(size);
+        this.layout = layout;
+        this.preallocated = factory != null;
+        this.clearing = factory == null;
+        this.dispatcher = MeteredDispatcher.of(this, metrics);
+        this.batchDispatcher = MeteredDispatcher.of(this::dispatchBatch, metrics);
+        if (factory != null) {
+            fill(factory);
+        }
+    }
+
+    /**
+     * Creates a ring buffer over slots shared with the other consumer groups of a
+     * multicast ring. Every group reads the same slots, so, as in preallocated ring
+     * buffers, consumers never clear them; an item stays referenced until its slot is
+     * overwritten.
+     */
+    RingBuffer(Sequencer sequencer, Poller poller, int size, T[] shared) {
+        super(sequencer, poller, size);
+        this.buffer = shared;
+        this.layout = SlotLayout.packed(size);
+        this.preallocated = false;
+        this.clearing = false;
+        this.dispatcher = this;
+        this.batchDispatcher = this::dispatchBatch;
+    }
+
+    /**
+     * Allocates the slots of a ring buffer of the given size, including padding.
+     */
+    static <T> T[] newBuffer(int size) {
+        return (T[]) new Object[(Constants.OBJECT_ARRAY_PADDING << 1) + size];
+    }
+
+    private void fill(EventFactory<T> factory) {
+        for (int i = 0; i < size; i++) {
+            buffer[Constants.OBJECT_ARRAY_PADDING + i] = factory.newInstance();
+        }
+    }
+
+    private int wrapIndex(long sequence) {
+        return layout.index(sequence) + Constants.OBJECT_ARRAY_PADDING;
+    }
+
+    void drainTo(long low, long high, T[] dst, int offset) {
         int index;
-        for (int i = 0; low <= high; ++low, ++i) {
-            index = wrapIndex(low, mask);
+        for (int i = offset; low <= high; ++low, ++i) {
+            index = wrapIndex(low);
             dst[i] = buffer[index];
-            buffer[index] = null;
+            if (clearing) {
+                buffer[index] = null;
+            }
         }
     }
 
     T dequeue(long sequence) {
-        int index = wrapIndex(sequence, mask);
+        int index = wrapIndex(sequence);
         T value = buffer[index];
-        buffer[index] = null;
+        if (clearing) {
+            buffer[index] = null;
+        }
         return value;
     }
 
+    /**
+     * Tells whether the slots hold events created by an {@link EventFactory}, which
+     * producers claim and mutate instead of pushing references.
+     */
+    boolean isPreallocated() {
+        return preallocated;
+    }
+
+    T get(long sequence) {
+        return buffer[wrapIndex(sequence)];
+    }
+
+    @Override
+    public void dispatch(long low, long high, Consumer<T> consumer) {
+        for (; low <= high; low++) {
+            T item = dequeue(low);
+            try {
+                consumer.accept(item);
+            } catch (Throwable ex) {
+                onError(item, low, ex);
+            }
+        }
+    }
+
+    private void dispatchBatch(long low, long high, BatchHandler<T> handler) {
+        try {
+            handler.onBatchStart((int) (high - low + 1));
+        } catch (Throwable ex) {
+            onError(null, low, ex);
+        }
+
+        for (; low <= high; low++) {
+            T item = dequeue(low);
+            try {
+                handler.onEvent(item, low, low == high);
+            } catch (Throwable ex) {
+                onError(item, low, ex);
+            }
+        }
+    }
+
     public PollerState poll(int batchsize, Consumer<T> consumer) {
-        return poller.poll(sequencer, this, batchsize, consumer);
+        return poll(dispatcher, batchsize, consumer);
+    }
+
+    public PollerState poll(int batchsize, BatchHandler<T> handler) {
+        return poll(batchDispatcher, batchsize, handler);
+    }
+
+    public int drain(T[] dst, int offset, int max) {
+        return poller.drain(sequencer, this, dst, offset, max);
     }
 
     public void push(Coordinator coordinator, T item) {
         long sequence = sequencer.next(coordinator);
-        buffer[wrapIndex(sequence, mask)] = item;
+        buffer[wrapIndex(sequence)] = item;
         sequencer.publishCursorSequence(sequence);
     }
 
@@ -56,10 +159,72 @@ final class RingBuffer<T> {
         long low = high - (length - 1);
 
         for (int i = 0; i < items.length; i++) {
-            buffer[wrapIndex(low + i, mask)] = items[i];
+            buffer[wrapIndex(low + i)] = items[i];
+        }
+
+        sequencer.publishCursorSequence(low, high);
+    }
+
+    public boolean push(Coordinator coordinator, T item, long deadline) {
+        long sequence = sequencer.next(coordinator, 1, deadline);
+        if (sequence == Sequencer.INSUFFICIENT_CAPACITY) {
+            return false;
+        }
+
+        buffer[wrapIndex(sequence)] = item;
+        sequencer.publishCursorSequence(sequence);
+        return true;
+    }
+
+    public boolean push(Coordinator coordinator, T[] items, long deadline) {
+        int length = items.length;
+        if (length == 0) {
+            return true;
+        }
+
+        long high = sequencer.next(coordinator, length, deadline);
+        if (high == Sequencer.INSUFFICIENT_CAPACITY) {
+            return false;
+        }
+
+        long low = high - (length - 1);
+        for (int i = 0; i < length; i++) {
+            buffer[wrapIndex(low + i)] = items[i];
+        }
+
+        sequencer.publishCursorSequence(low, high);
+        return true;
+    }
+
+    public boolean tryPush(T item) {
+        long sequence = sequencer.tryNext(1);
+        if (sequence == Sequencer.INSUFFICIENT_CAPACITY) {
+            return false;
+        }
+
+        buffer[wrapIndex(sequence)] = item;
+        sequencer.publishCursorSequence(sequence);
+        return true;
+    }
+
+    public boolean tryPush(T[] items) {
+        int length = items.length;
+        if (length == 0) {
+            return true;
+        }
+
+        long high = sequencer.tryNext(length);
+        if (high == Sequencer.INSUFFICIENT_CAPACITY) {
+            return false;
+        }
+
+        long low = high - (length - 1);
+        for (int i = 0; i < length; i++) {
+            buffer[wrapIndex(low + i)] = items[i];
         }
 
         sequencer.publishCursorSequence(low, high);
+        return true;
     }
 
 }
@@ -3,6 +3,12 @@ package io.github.ryntric;
 
 interface Sequencer {
 
+    /**
+     * Returned by {@link #tryNext(int)} when the requested number of sequences
+     * cannot be claimed without overwriting unconsumed items.
+     */
+    long INSUFFICIENT_CAPACITY = -1L;
+
     /**
      * Claims the next available sequence in the buffer for publishing a single item.
      * <p>
@@ -32,6 +38,37 @@ interface Sequencer {
      */
     long next(Coordinator coordinator, int n);
 
+    /**
+     * Attempts to claim the next {@code n} sequences without waiting.
+     * <p>
+     * Unlike {@link #next(Coordinator, int)}, this method never spins, yields or parks.
+     * If the ring buffer does not have enough free capacity to claim the whole range,
+     * nothing is claimed and {@link #INSUFFICIENT_CAPACITY} is returned, so the
+     * producer can back out without leaving unpublished sequences behind.
+     * </p>
+     *
+     * @param n the number of sequences to claim (must be positive)
+     * @return the highest claimed sequence number in the reserved range,
+     *         or {@link #INSUFFICIENT_CAPACITY} if the range could not be claimed
+     */
+    long tryNext(int n);
+
+    /**
+     * Claims the next {@code n} sequences, waiting for capacity no longer than
+     * the given deadline.
+     * <p>
+     * Capacity is claimed through {@link #tryNext(int)}, so a producer that gives up
+     * on timeout never leaves claimed-but-unpublished sequences behind.
+     * </p>
+     *
+     * @param coordinator the coordinator that applies the chosen wait strategy
+     * @param n           the number of sequences to claim (must be positive)
+     * @param deadline    the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return the highest claimed sequence number in the reserved range,
+     *         or {@link #INSUFFICIENT_CAPACITY} if the deadline elapsed first
+     */
+    long next(Coordinator coordinator, int n, long deadline);
+
     /**
      * Publishes a single sequence, making the corresponding item visible
      * to consumers.
@@ -69,16 +106,19 @@ interface Sequencer {
     void publishGatingSequence(long sequence);
 
     /**
-     * Advances the gating sequence up to the specified target sequence,
-     * retrying in a weak compare-and-set loop until successful.
+     * Advances the gating sequence to the specified target sequence if it still
+     * holds the expected value, with a single weak compare-and-set.
      *
-     * <p>This ensures that concurrent updates do not regress the gating
-     * sequence and maintains monotonic progression.</p>
+     * <p>Used by consumers that complete batches out of order: the caller has
+     * checked that every sequence up to the target is completed, and retries from
+     * the new value on failure, so the gating sequence never passes a batch that is
+     * still in flight.</p>
      *
      * @param sequence the target sequence to advance to
      * @param current  the expected current sequence value
+     * @return {@code true} if the gating sequence was advanced
      */
-    void advanceGatingSequence(long sequence, long current);
+    boolean advanceGatingSequence(long sequence, long current);
 
     /**
      * Returns the highest available sequence number within the given range.
@@ -111,18 +151,65 @@ interface Sequencer {
      */
     long getGatingSequencePlain();
 
+    /**
+     * Returns the current gating sequence using acquire semantics, for threads
+     * other than the consumers that advance it.
+     *
+     * @return the current gating sequence value
+     */
+    long getGatingSequenceAcquire();
+
     /**
      * Waits for the gating sequence to advance past the specified wrap point.
      *
      * <p>This is used by producers to avoid overwriting unconsumed data in
      * a ring buffer. The waiting strategy is delegated to the provided
-     * {@link Coordinator}, which may use spinning, yielding, or parking.</p>
+     * {@link Coordinator}, which may use spinning, yielding, or parking.
+     * If the ring is shared by several consumer groups, the minimum of their
+     * gating sequences is awaited.</p>
      *
-     * @param coordinator    the coordinator responsible for handling wait strategy
-     * @param gatingSequence the sequence to monitor
-     * @param wrapPoint      the minimum required gating sequence
+     * @param coordinator the coordinator responsible for handling wait strategy
+     * @param wrapPoint   the minimum required gating sequence
      * @return the latest gating sequence value once it has advanced past the wrap point
      */
-    long wait(Coordinator coordinator, Sequence gatingSequence, long wrapPoint);
+    long wait(Coordinator coordinator, long wrapPoint);
+
+    /**
+     * Marks the sequencer closed. Sequences already claimed may still be published.
+     */
+    void close();
+
+    /**
+     * Tells whether {@link #close()} has been called.
+     *
+     * @return {@code true} if the sequencer is closed
+     */
+    boolean isClosed();
+
+    /**
+     * Tells whether the sequencer is closed and no sequence beyond
+     * {@link #getCursorSequenceAcquire()} will become available to its consumers.
+     * Consumers that find nothing to poll after this method returned {@code true}
+     * have reached the end of the stream.
+     *
+     * @return {@code true} if the consumers of this sequencer have seen every sequence
+     */
+    boolean isCompleted();
+
+    /**
+     * Tells whether consumers have handled every sequence claimed so far.
+     *
+     * @return {@code true} if the gating sequence has caught up with the cursor
+     */
+    boolean isDrained();
+
+    /**
+     * Releases the off-heap memory of the sequencer. Does nothing for sequencers
+     * without such memory, or if it has already been released.
+     *
+     * @throws IllegalStateException if the sequencer is not closed, or if any consumer
+     *                               of the ring has not handled every claimed sequence
+     */
+    void free();
 
 }
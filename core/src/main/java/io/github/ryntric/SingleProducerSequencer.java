@@ -74,7 +74,23 @@ final class SingleProducerSequencer extends SingleProducerSequencerRightPaddings
         long wrapPoint = next - bufferSize;
 
         if (wrapPoint > cached) {
-            this.cached = wait(coordinator, gatingSequence, wrapPoint);
+            this.cached = wait(coordinator, wrapPoint);
+        }
+
+        this.sequence = next;
+        return next;
+    }
+
+    /**
+     * @see Sequencer
+     */
+    @Override
+    public long tryNext(int n) {
+        long next = sequence + n;
+        long wrapPoint = next - bufferSize;
+
+        if (wrapPoint > cached && wrapPoint > (this.cached = getMinimumGatingSequence())) {
+            return INSUFFICIENT_CAPACITY;
         }
 
         this.sequence = next;
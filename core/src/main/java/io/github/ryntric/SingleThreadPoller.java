@@ -1,12 +1,10 @@
 package io.github.ryntric;
 
 
-import java.util.function.Consumer;
-
-final class SingleThreadPoller<T> extends AbstractPoller<T> {
+final class SingleThreadPoller implements Poller {
 
     @Override
-    public PollerState poll(Sequencer sequencer, RingBuffer<T> ringBuffer, long batchSize, Consumer<T> consumer) {
+    public <C> PollerState poll(Sequencer sequencer, Dispatcher<C> dispatcher, long batchSize, C consumer) {
         long current = sequencer.getGatingSequencePlain();
         long next = current + 1;
         long available = Long.min(sequencer.getCursorSequenceAcquire(), current + batchSize);
@@ -16,10 +14,32 @@ final class SingleThreadPoller<T> extends AbstractPoller<T> {
         }
 
         long highest = sequencer.getHighest(next, available);
-        for (; next <= highest; next++) {
-            handle(consumer, ringBuffer.dequeue(next), next);
+        if (highest < next) {
+            return PollerState.IDLE;
         }
+
+        dispatcher.dispatch(next, highest, consumer);
         sequencer.publishGatingSequence(highest);
         return PollerState.PROCESSING;
     }
+
+    @Override
+    public <T> int drain(Sequencer sequencer, RingBuffer<T> ringBuffer, T[] dst, int offset, int max) {
+        long current = sequencer.getGatingSequencePlain();
+        long next = current + 1;
+        long available = Long.min(sequencer.getCursorSequenceAcquire(), current + max);
+
+        if (next > available) {
+            return 0;
+        }
+
+        long highest = sequencer.getHighest(next, available);
+        if (highest < next) {
+            return 0;
+        }
+
+        ringBuffer.drainTo(next, highest, dst, offset);
+        sequencer.publishGatingSequence(highest);
+        return (int) (highest - current);
+    }
 }
@@ -0,0 +1,73 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.Util;
+
+/**
+ * Maps the sequences of a ring to its slots.
+ * <p>
+ * The packed layout, the default, places consecutive sequences in consecutive slots.
+ * The spread layout rotates the bits of the slot index instead, so consecutive
+ * sequences lie {@code size / 16} slots apart. Sixteen 4-byte flags fill a cache line,
+ * as do sixteen compressed references, so threads claiming neighbouring sequences no
+ * longer write to the same line; in exchange a batch no longer reads one line after the
+ * other. Every slot is still used exactly once per lap. Rings of up to 16 slots are
+ * packed either way.
+ * </p>
+ *
+ * <p>Both layouts share one formula, so the packed layout costs no branch.</p>
+ *
+ * @see ChannelOptions#spreadSlots()
+ */
+final class SlotLayout {
+    /** log2 of the number of 4-byte slots in a 64-byte cache line. */
+    private static final int LINE_SHIFT = 4;
+
+    private final int mask;
+    private final int lineMask;
+    private final int lineShift;
+    private final int rowShift;
+
+    private SlotLayout(int mask, int lineShift, int rowShift) {
+        this.mask = mask;
+        this.lineMask = (1 << lineShift) - 1;
+        this.lineShift = lineShift;
+        this.rowShift = rowShift;
+    }
+
+    /**
+     * Returns the layout placing consecutive sequences in consecutive slots.
+     *
+     * @param size the ring size (must be a power of 2)
+     */
+    static SlotLayout packed(int size) {
+        return new SlotLayout(size - 1, 0, 0);
+    }
+
+    /**
+     * Returns the layout placing consecutive sequences on different cache lines.
+     *
+     * @param size the ring size (must be a power of 2)
+     */
+    static SlotLayout spread(int size) {
+        int bits = Util.log2(size);
+        int lineShift = Math.min(LINE_SHIFT, bits);
+        return new SlotLayout(size - 1, lineShift, bits - lineShift);
+    }
+
+    /**
+     * Returns whether consecutive sequences may lie in different slots than their
+     * position in the lap. Scans comparing neighbouring slots at once are only
+     * valid if not.
+     */
+    boolean isSpread() {
+        return rowShift != 0;
+    }
+
+    /**
+     * Returns the slot of the given sequence, between {@code 0} and {@code size - 1}.
+     */
+    int index(long sequence) {
+        int index = Util.wrapIndex(sequence, mask);
+        return ((index & lineMask) << rowShift) | (index >>> lineShift);
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.ryntric;
+
+import io.github.ryntric.util.Util;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A set of parked threads that is free to signal while nobody waits.
+ * <p>
+ * Waiting threads announce themselves by incrementing a waiter count and are
+ * woken individually with {@link LockSupport#unpark(Thread)}. {@link #signal()}
+ * costs a fence and a single volatile read of the waiter count when no thread is
+ * registered; only when the count is non-zero does it take the registered threads
+ * off the queue and unpark them.
+ * </p>
+ *
+ * <p>{@link #await()} must be called from a loop that re-checks its wake-up
+ * condition between calls, as the blocking loops of {@link Channel} and
+ * {@link Sequencer} do.
+ * A thread that is not yet registered is registered and returned to the caller
+ * immediately, so the condition is checked once more after the registration is
+ * visible to signallers. Only a registered thread parks. Either the re-check
+ * observes the change, or the signaller observes the registration, so no wake-up
+ * is lost.</p>
+ *
+ * <p>{@link #signal()} removes every registered thread it wakes. A thread that
+ * registered and then found work therefore receives at most one spurious unpark,
+ * after which signalling is free again.</p>
+ *
+ * @see ConsumerLiteBlockingStrategy
+ * @see ProducerBlockingStrategy
+ */
+final class WaitQueue {
+    private static final VarHandle WAITERS_VH = Util.findVarHandlePrivate(WaitQueue.class, "waiters", int.class);
+
+    /** The registered threads. */
+    private final ConcurrentLinkedQueue<Thread> threads = new ConcurrentLinkedQueue<>();
+
+    /** The number of registered threads; checked by signallers before touching the queue. */
+    private int waiters;
+
+    /**
+     * Registers the calling thread, or parks it if it is already registered.
+     */
+    void await() {
+        Thread thread = Thread.currentThread();
+        if (register(thread)) {
+            LockSupport.park(this);
+        }
+    }
+
+    /**
+     * Registers the calling thread, or parks it if it is already registered,
+     * but no longer than the given deadline.
+     *
+     * @param deadline the absolute {@link System#nanoTime()} value after which waiting must stop
+     * @return {@code true} if the deadline has not yet elapsed, {@code false} otherwise
+     */
+    boolean await(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+
+        Thread thread = Thread.currentThread();
+        if (register(thread)) {
+            LockSupport.parkNanos(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the thread to the queue unless it is already there.
+     *
+     * @return {@code true} if the thread was registered before this call
+     */
+    private boolean register(Thread thread) {
+        if (threads.contains(thread)) {
+            return true;
+        }
+        threads.offer(thread);
+        WAITERS_VH.getAndAdd(this, 1);
+        return false;
+    }
+
+    /**
+     * Wakes every registered thread.
+     * <p>
+     * The fence orders the caller's preceding publication before the read of
+     * the waiter count, pairing with the atomic increment in {@link #await()}.
+     * </p>
+     */
+    void signal() {
+        VarHandle.fullFence();
+        if ((int) WAITERS_VH.getVolatile(this) == 0) {
+            return;
+        }
+
+        Thread thread;
+        while ((thread = threads.poll()) != null) {
+            WAITERS_VH.getAndAdd(this, -1);
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package io.github.ryntric.util;
 import sun.misc.Unsafe;
 
 import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 
 public final class UnsafeUtil {
     private static final Unsafe UNSAFE = ThrowableSupplier.sneaky(() -> {
@@ -11,8 +13,18 @@ public final class UnsafeUtil {
         return (Unsafe) field.get(null);
     });
 
+    private static final long BUFFER_ADDRESS_OFFSET = ThrowableSupplier.sneaky(() ->
+            UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address")));
+
     private UnsafeUtil() {}
 
+    public static long getAddress(ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            throw new IllegalArgumentException("Should be a direct buffer");
+        }
+        return UNSAFE.getLong(buffer, BUFFER_ADDRESS_OFFSET);
+    }
+
     public static long allocateMemory(long size) {
         return UNSAFE.allocateMemory(size);
     }
@@ -0,0 +1,314 @@
+package io.github.ryntric;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide accounting of the off-heap memory held by channels.
+ * <p>
+ * Multi-producer channels keep their availability flags off-heap, multi-consumer
+ * channels their completion flags, and sampled channels the timestamps of
+ * {@link ChannelOptions#latencySampling(int) latency sampling}, and a
+ * {@link ByteChannel} its whole ring. That memory is released by {@link Channel#free()}
+ * and {@link ByteChannel#free()}, or by a {@link Cleaner} once a channel nobody
+ * freed has become unreachable. The counters below include the padding and alignment
+ * of every block, so {@link #usedBytes()} is exactly what the library holds at the
+ * moment.
+ * </p>
+ *
+ * <p>This is the Java 22 version of the class. Every block is a {@link MemorySegment}
+ * of its own shared {@link Arena}, accessed with bounds and liveness checks instead of
+ * {@code sun.misc.Unsafe}: a channel used after {@link Channel#free()} fails with an
+ * {@link IllegalStateException} rather than reading freed memory. That includes the
+ * ring of a {@link ByteChannel}, whose records are read and written through
+ * {@link Block} as well. Like direct buffers,
+ * the blocks count against {@code -XX:MaxDirectMemorySize}.</p>
+ *
+ * @see Channel#free()
+ * @see ChannelOptions#alignedMemory()
+ */
+public final class NativeMemory {
+    /** The system property overriding {@link #PAGE_SIZE}. */
+    static final String PAGE_SIZE_PROPERTY = "io.github.ryntric.pageSize";
+
+    /**
+     * The alignment of aligned blocks. The FFM API does not expose the page size of the
+     * platform, so it defaults to 4096 bytes, the base page size of x86-64 and of most
+     * AArch64 systems. Platforms with larger pages can set it with the
+     * {@value #PAGE_SIZE_PROPERTY} system property, which must be a power of two.
+     */
+    private static final long PAGE_SIZE = pageSize();
+
+    private static final Cleaner CLEANER = Cleaner.create(runnable -> {
+        Thread thread = new Thread(runnable, "channel-memory-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicLong ALLOCATED = new AtomicLong();
+    private static final AtomicLong FREED = new AtomicLong();
+
+    private NativeMemory() {}
+
+    private static long pageSize() {
+        long pageSize = Long.getLong(PAGE_SIZE_PROPERTY, 4096);
+        if (pageSize < Constants.CACHE_LINE_SIZE || Long.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException(PAGE_SIZE_PROPERTY + " must be a power of two of at least "
+                    + Constants.CACHE_LINE_SIZE + ": " + pageSize);
+        }
+        return pageSize;
+    }
+
+    /**
+     * Returns the number of bytes allocated since the start of the process.
+     *
+     * @return the allocated bytes
+     */
+    public static long allocatedBytes() {
+        return ALLOCATED.get();
+    }
+
+    /**
+     * Returns the number of bytes released since the start of the process.
+     *
+     * @return the freed bytes
+     */
+    public static long freedBytes() {
+        return FREED.get();
+    }
+
+    /**
+     * Returns the number of bytes currently held.
+     *
+     * @return the allocated bytes not freed yet
+     */
+    public static long usedBytes() {
+        long freed = FREED.get();
+        return ALLOCATED.get() - freed;
+    }
+
+    /**
+     * Allocates a block and fills it with the given value.
+     * <p>
+     * An aligned block starts on a page boundary and spans whole pages, so it shares no
+     * page, and no cache line, with other allocations. The fill writes every page, so
+     * either kind of block is backed by physical memory before it is returned. Other
+     * blocks are aligned to 8 bytes, so every access at an aligned offset is atomic.
+     * </p>
+     *
+     * @param bytes   the usable size of the block
+     * @param value   the value every byte is set to
+     * @param aligned whether the block is page-aligned
+     * @return the allocated block
+     */
+    static Block allocate(long bytes, byte value, boolean aligned) {
+        Arena arena = Arena.ofShared();
+        MemorySegment segment;
+        long reserved;
+        if (aligned) {
+            bytes = (bytes + PAGE_SIZE - 1) & -PAGE_SIZE;
+            reserved = bytes + PAGE_SIZE - 1;
+            segment = align(arena.allocate(reserved, 1), bytes, PAGE_SIZE);
+        } else {
+            reserved = bytes;
+            segment = arena.allocate(bytes, Long.BYTES);
+        }
+        ALLOCATED.addAndGet(reserved);
+        segment.fill(value);
+        return new Block(segment, new Deallocator(arena, reserved));
+    }
+
+    /**
+     * Slices {@code bytes} out of {@code raw} at its first {@code alignment} boundary.
+     * <p>
+     * An arena pads allocations aligned to more than 16 bytes by itself, by an amount
+     * that depends on the JDK. Allocating unaligned memory and slicing it keeps the
+     * reserved size of a block exactly what the arena allocates.
+     * </p>
+     */
+    private static MemorySegment align(MemorySegment raw, long bytes, long alignment) {
+        long start = (raw.address() + alignment - 1) & -alignment;
+        return raw.asSlice(start - raw.address(), bytes);
+    }
+
+    /**
+     * Allocates a zeroed block aligned to a cache line that can also be accessed as a
+     * direct {@link ByteBuffer}.
+     *
+     * @param bytes the usable size of the block
+     * @return the allocated block
+     */
+    static Block allocateBuffer(int bytes) {
+        long reserved = bytes + Constants.CACHE_LINE_SIZE - 1;
+        Arena arena = Arena.ofShared();
+        MemorySegment segment = align(arena.allocate(reserved, 1), bytes, Constants.CACHE_LINE_SIZE);
+        ALLOCATED.addAndGet(reserved);
+        return new Block(segment, new Deallocator(arena, reserved));
+    }
+
+    /**
+     * Maps a region of a file as a block that can also be accessed as a direct
+     * {@link ByteBuffer}.
+     * <p>
+     * Freeing the block unmaps the region. Mapped memory is backed by the file rather
+     * than allocated by the library, so it is not counted.
+     * </p>
+     *
+     * @param channel  the file, opened for reading and writing
+     * @param position the position of the region within the file
+     * @param bytes    the size of the region
+     * @return the mapped block
+     * @throws IOException if the region cannot be mapped
+     */
+    static Block map(FileChannel channel, long position, int bytes) throws IOException {
+        Arena arena = Arena.ofShared();
+        try {
+            return new Block(channel.map(FileChannel.MapMode.READ_WRITE, position, bytes, arena), new Deallocator(arena, 0));
+        } catch (IOException | RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * An off-heap block, released by {@link #free()} or when it becomes unreachable.
+     * The block is accessed through its own methods, at offsets from its start, so the
+     * owner keeps it reachable for as long as it uses the memory.
+     * <p>
+     * Owners only use offsets aligned to the size of the value. The plain accessors still
+     * use the unaligned layouts, which skip the alignment check of every access; in the
+     * loop of {@link #countLongs(long, int, long)} that check costs as much as the read.
+     * Ordered and atomic accesses go through the {@link VarHandle}s of the aligned
+     * layouts, which alone support them.
+     * </p>
+     */
+    static final class Block {
+        private static final VarHandle INT = ValueLayout.JAVA_INT.varHandle();
+        private static final VarHandle LONG = ValueLayout.JAVA_LONG.varHandle();
+
+        private final MemorySegment segment;
+        private final Cleaner.Cleanable cleanable;
+
+        private Block(MemorySegment segment, Deallocator deallocator) {
+            this.segment = segment;
+            this.cleanable = CLEANER.register(this, deallocator);
+        }
+
+        /**
+         * Returns a view of a block allocated by {@link #allocateBuffer(int)} or
+         * {@link #map(FileChannel, long, int)}. Accessing
+         * the view once the block is freed fails with an {@link IllegalStateException}.
+         */
+        ByteBuffer buffer() {
+            return segment.asByteBuffer();
+        }
+
+        int getInt(long offset) {
+            return segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+        }
+
+        int getIntVolatile(long offset) {
+            return (int) INT.getVolatile(segment, offset);
+        }
+
+        long getLong(long offset) {
+            return segment.get(ValueLayout.JAVA_LONG_UNALIGNED, offset);
+        }
+
+        long getLongVolatile(long offset) {
+            return (long) LONG.getVolatile(segment, offset);
+        }
+
+        /**
+         * Returns how many of the {@code max} consecutive {@code long}s starting at
+         * {@code offset} are equal to {@code value}, stopping at the first that is not.
+         */
+        int countLongs(long offset, int max, long value) {
+            for (int i = 0; i < max; i++) {
+                if (segment.get(ValueLayout.JAVA_LONG_UNALIGNED, offset + ((long) i << 3)) != value) {
+                    return i;
+                }
+            }
+            return max;
+        }
+
+        void putInt(long offset, int value) {
+            segment.set(ValueLayout.JAVA_INT_UNALIGNED, offset, value);
+        }
+
+        /**
+         * Writes the value with release semantics: no earlier write is reordered past it.
+         */
+        void putIntRelease(long offset, int value) {
+            INT.setRelease(segment, offset, value);
+        }
+
+        void putIntVolatile(long offset, int value) {
+            INT.setVolatile(segment, offset, value);
+        }
+
+        void putLong(long offset, long value) {
+            segment.set(ValueLayout.JAVA_LONG_UNALIGNED, offset, value);
+        }
+
+        /**
+         * Writes the value with release semantics: no earlier write is reordered past it.
+         */
+        void putLongRelease(long offset, long value) {
+            LONG.setRelease(segment, offset, value);
+        }
+
+        long getAndAddLong(long offset, long delta) {
+            return (long) LONG.getAndAdd(segment, offset, delta);
+        }
+
+        boolean compareAndSetLong(long offset, long expected, long value) {
+            return LONG.compareAndSet(segment, offset, expected, value);
+        }
+
+        /**
+         * Copies {@code length} bytes of {@code src}, starting at {@code srcOffset}, to the block.
+         */
+        void copyFrom(byte[] src, int srcOffset, long offset, int length) {
+            MemorySegment.copy(src, srcOffset, segment, ValueLayout.JAVA_BYTE, offset, length);
+        }
+
+        void fill(long offset, long bytes, byte value) {
+            segment.asSlice(offset, bytes).fill(value);
+        }
+
+        /**
+         * Releases the block. Later calls do nothing.
+         */
+        void free() {
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Closes the arena of a block. Holds no reference to the block itself, so the
+     * block can become phantom reachable.
+     */
+    private static final class Deallocator implements Runnable {
+        private final Arena arena;
+        private final long reserved;
+
+        Deallocator(Arena arena, long reserved) {
+            this.arena = arena;
+            this.reserved = reserved;
+        }
+
+        @Override
+        public void run() {
+            arena.close();
+            FREED.addAndGet(reserved);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.ryntric;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Shuts a {@link ChannelExecutorService} down from inside one of its tasks while its
+ * ring is full, which jcstress cannot express since the outcome is whether the
+ * executor terminates at all.
+ * <p>
+ * The executor has a single worker. Its first task waits until a submitter thread is
+ * blocked on the full ring, then calls {@link ChannelExecutorService#shutdown()} or
+ * {@link ChannelExecutorService#shutdownNow()}. The executor must terminate, the
+ * submitter must be released, and every accepted task must be either run or, after
+ * {@code shutdownNow()}, returned.
+ * </p>
+ *
+ * Run with
+ * <pre>{@code
+ * java -cp jcstress/target/jcstress-1.0-SNAPSHOT.jar io.github.ryntric.ChannelExecutorServiceShutdownTest
+ * }</pre>
+ * The process exits with status {@code 1} on failure.
+ */
+public class ChannelExecutorServiceShutdownTest {
+    private static final int CAPACITY = 16;
+    private static final int ROUNDS = 100;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    public static void main(String[] args) {
+        try {
+            for (int i = 0; i < ROUNDS; i++) {
+                run(ChannelExecutorService::shutdown);
+                run(executor -> {
+                    List<Runnable> pending = executor.shutdownNow();
+                    for (Runnable task : pending) {
+                        task.run();
+                    }
+                });
+            }
+            System.out.println("OK");
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Fills the ring of a single-worker executor behind a task that shuts the executor
+     * down, and checks that every accepted task is accounted for. Tasks returned by
+     * {@code shutdownNow()} are run by {@code shutdown}, so they count as run.
+     */
+    private static void run(Consumer<ChannelExecutorService> shutdown) throws InterruptedException {
+        ChannelExecutorService executor = new ChannelExecutorService(1, CAPACITY, ChannelExecutorService.DEFAULT_BATCH_SIZE,
+                ProducerWaitStrategyType.BLOCKING, ConsumerWaitStrategyType.LITE_BLOCKING, Executors.defaultThreadFactory());
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch full = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            try {
+                full.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            shutdown.accept(executor);
+        });
+
+        Thread submitter = new Thread(() -> {
+            try {
+                for (;;) {
+                    executor.execute(ran::incrementAndGet);
+                    accepted.incrementAndGet();
+                }
+            } catch (RejectedExecutionException ex) {
+                // shut down, stop submitting
+            }
+        }, "executor-submitter");
+        submitter.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (submitter.getState() != Thread.State.WAITING || accepted.get() < CAPACITY - 1) {
+            check(System.nanoTime() < deadline, "submitter did not block on the full ring");
+            Thread.yield();
+        }
+        full.countDown();
+
+        check(executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS), "executor did not terminate");
+        submitter.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        check(!submitter.isAlive(), "submitter is still blocked");
+        check(ran.get() == accepted.get(), "ran " + ran.get() + " of " + accepted.get() + " accepted tasks");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.ryntric;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * Two waiters park on the strategy while a third thread publishes a flag and signals.
+ * A lost wake-up leaves a waiter parked and the test hangs.
+ */
+@State
+@JCStressTest
+@Outcome(id = "1, 1", expect = Expect.ACCEPTABLE)
+public class ConsumerLiteBlockingStrategyStressTest {
+    private final ConsumerLiteBlockingStrategy strategy = new ConsumerLiteBlockingStrategy();
+    private volatile int ready;
+
+    @Actor
+    public void signaller() {
+        ready = 1;
+        strategy.signal();
+    }
+
+    @Actor
+    public void waiter1(II_Result result) {
+        while (ready == 0) {
+            strategy.await();
+        }
+        result.r1 = 1;
+    }
+
+    @Actor
+    public void waiter2(II_Result result) {
+        while (ready == 0) {
+            strategy.await();
+        }
+        result.r2 = 1;
+    }
+
+}
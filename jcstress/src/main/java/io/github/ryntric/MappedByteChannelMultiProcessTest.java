@@ -0,0 +1,223 @@
+package io.github.ryntric;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exchanges sequenced records between JVMs through a {@link ByteChannel} stored in a
+ * file, which jcstress cannot do since it runs every actor in one JVM.
+ * <p>
+ * The test starts child JVMs with the {@code java} launcher, JVM options and class path
+ * of the current one. First several child producers fill an MPSC ring consumed by this
+ * process, then this process produces into an SPSC ring consumed by a child, which
+ * must observe the end of the stream once this process closes the channel. Every
+ * record carries the producer id and a sequence number, and consumers check that each
+ * producer's records arrive complete and in order. Record lengths vary so the rings
+ * wrap with padding records.
+ * </p>
+ *
+ * Run with
+ * <pre>{@code
+ * java -cp jcstress/target/jcstress-1.0-SNAPSHOT.jar io.github.ryntric.MappedByteChannelMultiProcessTest
+ * }</pre>
+ * The process exits with status {@code 1} on failure.
+ */
+public class MappedByteChannelMultiProcessTest {
+    private static final int CAPACITY = 1 << 16;
+    private static final int PRODUCERS = 3;
+    private static final int RECORDS = 200_000;
+    private static final long TIMEOUT_SECONDS = 120;
+
+    private static final ProducerWaitStrategyType PRODUCER_WAIT = ProducerWaitStrategyType.YIELDING;
+    private static final ConsumerWaitStrategyType CONSUMER_WAIT = ConsumerWaitStrategyType.YIELDING;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            run();
+            return;
+        }
+
+        Path path = Paths.get(args[1]);
+        switch (args[0]) {
+            case "produce":
+                produce(ByteChannel.mpsc(path, CAPACITY, PRODUCER_WAIT, CONSUMER_WAIT), Integer.parseInt(args[2]), Collections.emptyList());
+                break;
+            case "consume":
+                consume(ByteChannel.spsc(path, CAPACITY, PRODUCER_WAIT, CONSUMER_WAIT), 1, Collections.emptyList());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown role " + args[0]);
+        }
+    }
+
+    private static void run() throws Exception {
+        try {
+            multiProducer();
+            singleProducer();
+            System.out.println("OK");
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Child JVMs produce into an MPSC ring and this process consumes.
+     */
+    private static void multiProducer() throws Exception {
+        Path path = ringFile();
+        ByteChannel channel = ByteChannel.mpsc(path, CAPACITY, PRODUCER_WAIT, CONSUMER_WAIT);
+        try {
+            List<Process> producers = new ArrayList<>();
+            for (int id = 0; id < PRODUCERS; id++) {
+                producers.add(fork("produce", path.toString(), Integer.toString(id)));
+            }
+            consume(channel, PRODUCERS, producers);
+            for (Process producer : producers) {
+                await(producer);
+            }
+            channel.close();
+            channel.free();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        System.out.println(PRODUCERS + " child producers -> parent consumer: " + (long) PRODUCERS * RECORDS + " records");
+    }
+
+    /**
+     * This process produces into an SPSC ring and a child JVM consumes until the channel is closed.
+     */
+    private static void singleProducer() throws Exception {
+        Path path = ringFile();
+        ByteChannel channel = ByteChannel.spsc(path, CAPACITY, PRODUCER_WAIT, CONSUMER_WAIT);
+        try {
+            Process consumer = fork("consume", path.toString());
+            produce(channel, 0, Collections.singletonList(consumer));
+            if (!channel.awaitDrained(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new AssertionError("Child consumer did not drain the channel");
+            }
+            channel.close();
+            await(consumer);
+            channel.free();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        System.out.println("parent producer -> child consumer: " + RECORDS + " records");
+    }
+
+    /**
+     * Produces the records of one producer. A full ring is waited for with
+     * {@link ByteChannel#tryClaim(int)}, so a failed consumer process fails the producer
+     * instead of blocking it forever.
+     */
+    private static void produce(ByteChannel channel, int id, List<Process> peers) {
+        for (int sequence = 0; sequence < RECORDS; sequence++) {
+            int offset;
+            while ((offset = channel.tryClaim(length(sequence))) < 0) {
+                checkAlive(peers);
+                Thread.yield();
+            }
+            ByteBuffer buffer = channel.buffer();
+            buffer.putInt(offset, id);
+            buffer.putInt(offset + Integer.BYTES, sequence);
+            channel.commit(offset);
+        }
+    }
+
+    /**
+     * Receives every record of {@code producers} producers and checks their order. With a
+     * single producer, also waits for the end of the stream. Errors thrown by a
+     * {@link RecordHandler} are only logged, so the handler records the first
+     * unexpected record instead.
+     */
+    private static void consume(ByteChannel channel, int producers, List<Process> peers) {
+        int[] next = new int[producers];
+        long expected = (long) producers * RECORDS;
+        long[] received = new long[1];
+        String[] failure = new String[1];
+        RecordHandler handler = (buffer, offset, length) -> {
+            int id = buffer.getInt(offset);
+            int sequence = buffer.getInt(offset + Integer.BYTES);
+            if (id < 0 || id >= producers || sequence != next[id] || length != length(sequence)) {
+                if (failure[0] == null) {
+                    failure[0] = "Unexpected record " + sequence + " of producer " + id + ", length " + length
+                            + ", expected " + Arrays.toString(next);
+                }
+                return;
+            }
+            next[id]++;
+            received[0]++;
+        };
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (received[0] < expected && failure[0] == null) {
+            if (!channel.blockingReceive(256, handler, 100, TimeUnit.MILLISECONDS)) {
+                checkAlive(peers);
+                if (System.nanoTime() > deadline) {
+                    throw new AssertionError("Received " + received[0] + " of " + expected + " records");
+                }
+            }
+        }
+        if (producers == 1) {
+            while (channel.blockingReceive(256, handler, 1, TimeUnit.SECONDS) || !channel.isClosed()) {
+                if (System.nanoTime() > deadline) {
+                    throw new AssertionError("Channel was not closed by the producer");
+                }
+            }
+        }
+        if (failure[0] != null) {
+            throw new AssertionError(failure[0]);
+        }
+        if (received[0] != expected) {
+            throw new AssertionError("Received " + received[0] + " of " + expected + " records");
+        }
+    }
+
+    private static int length(int sequence) {
+        return 2 * Integer.BYTES + (sequence % 61);
+    }
+
+    private static Path ringFile() throws IOException {
+        Path path = Files.createTempFile("channel-", ".ring");
+        Files.delete(path);
+        return path;
+    }
+
+    private static Process fork(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MappedByteChannelMultiProcessTest.class.getName());
+        command.addAll(Arrays.asList(args));
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    private static void checkAlive(List<Process> processes) {
+        for (Process process : processes) {
+            if (!process.isAlive() && process.exitValue() != 0) {
+                throw new AssertionError("Child process failed with exit status " + process.exitValue());
+            }
+        }
+    }
+
+    private static void await(Process process) throws InterruptedException {
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new AssertionError("Child process did not finish within " + TIMEOUT_SECONDS + " seconds");
+        }
+        if (process.exitValue() != 0) {
+            throw new AssertionError("Child process failed with exit status " + process.exitValue());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.ryntric;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Two consumers compete for four items pushed through a ring of capacity two, so the
+ * ring wraps twice and the consumers complete their batches in any order. A consumer
+ * finishing early must not hand back the slot of a batch still in flight: the producer
+ * would overwrite it, and the item would be delivered twice, or as {@code null}, while
+ * another one is lost.
+ */
+@State
+@JCStressTest
+@Outcome(id = "15, 0", expect = Expect.ACCEPTABLE)
+public class MultiProducerMultiConsumerOutOfOrderStressTest {
+    private static final int ITEMS = 4;
+
+    private final Channel<Integer> channel = Channel.mpmc(2, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+    private final AtomicInteger delivered = new AtomicInteger();
+    private final AtomicInteger sum = new AtomicInteger();
+    private final AtomicInteger nulls = new AtomicInteger();
+    private final Consumer<Integer> handler = item -> {
+        if (item == null) {
+            nulls.incrementAndGet();
+        } else {
+            sum.addAndGet(item);
+        }
+        delivered.incrementAndGet();
+    };
+
+    private void receive() {
+        while (delivered.get() < ITEMS) {
+            channel.receive(1, handler);
+        }
+    }
+
+    @Actor
+    public void producer() {
+        for (int i = 0; i < ITEMS; i++) {
+            channel.push(1 << i);
+        }
+    }
+
+    @Actor
+    public void consumer1() {
+        receive();
+    }
+
+    @Actor
+    public void consumer2() {
+        receive();
+    }
+
+    @Arbiter
+    public void arbiter(II_Result result) {
+        result.r1 = sum.get();
+        result.r2 = nulls.get();
+    }
+
+}
@@ -0,0 +1,48 @@
+package io.github.ryntric;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import java.util.function.Consumer;
+
+/**
+ * A slot claimed before {@link Channel#close()} and published after it must still
+ * reach a consumer blocked in {@link Channel#blockingReceive(int, Consumer)}. The
+ * consumer receives until the end of the stream; reporting the end while the claimed
+ * slot is unpublished loses the item.
+ */
+@State
+@JCStressTest
+@Outcome(id = "1", expect = Expect.ACCEPTABLE)
+@Outcome(id = "0", expect = Expect.FORBIDDEN, desc = "End of stream reported before the claimed slot was published")
+public class MultiProducerSingleConsumerCloseStressTest {
+    private final Channel<long[]> channel = Channel.mpsc(64, () -> new long[1], ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.LITE_BLOCKING);
+
+    private int consumed;
+    private final Consumer<long[]> handler = event -> {
+        if (event[0] == 42) {
+            consumed++;
+        }
+    };
+
+    @Actor
+    public void producer() {
+        long sequence = channel.claim();
+        channel.close();
+        channel.get(sequence)[0] = 42;
+        channel.publish(sequence);
+    }
+
+    @Actor
+    public void consumer(I_Result result) {
+        while (channel.blockingReceive(64, handler)) {
+            // receive until the end of the stream
+        }
+        result.r1 = consumed;
+    }
+
+}
@@ -0,0 +1,48 @@
+package io.github.ryntric;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A consumer blocked in {@link Channel#blockingReceive(int, Consumer)} must observe
+ * both pushes. A lost wake-up leaves it parked and the test hangs.
+ */
+@State
+@JCStressTest
+@Outcome(id = "2", expect = Expect.ACCEPTABLE)
+public class MultiProducerSingleConsumerLiteBlockingStressTest {
+    private final Channel<Object> channel = Channel.mpsc(64, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.LITE_BLOCKING);
+    private static final Object DUMMY = new Object();
+
+    private int consumed;
+    private final Consumer<Object> handler = obj -> {
+        Objects.requireNonNull(obj);
+        consumed++;
+    };
+
+    @Actor
+    public void producer1() {
+        channel.push(DUMMY);
+    }
+
+    @Actor
+    public void producer2() {
+        channel.push(DUMMY);
+    }
+
+    @Actor
+    public void consumer(I_Result result) {
+        while (consumed < 2) {
+            channel.blockingReceive(2048, handler);
+        }
+        result.r1 = consumed;
+    }
+
+}
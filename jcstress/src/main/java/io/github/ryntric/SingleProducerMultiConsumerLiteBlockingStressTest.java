@@ -0,0 +1,39 @@
+package io.github.ryntric;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.util.function.Consumer;
+
+/**
+ * Two consumers block in {@link Channel#blockingReceive(int, Consumer)} until each
+ * takes one of the two pushed items. A lost wake-up leaves a consumer parked and
+ * the test hangs.
+ */
+@State
+@JCStressTest
+@Outcome(id = "1, 1", expect = Expect.ACCEPTABLE)
+public class SingleProducerMultiConsumerLiteBlockingStressTest {
+    private final Channel<Integer> channel = Channel.spmc(64, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.LITE_BLOCKING);
+
+    @Actor
+    public void producer() {
+        channel.push(1);
+        channel.push(1);
+    }
+
+    @Actor
+    public void consumer1(II_Result result) {
+        channel.blockingReceive(1, item -> result.r1 = item);
+    }
+
+    @Actor
+    public void consumer2(II_Result result) {
+        channel.blockingReceive(1, item -> result.r2 = item);
+    }
+
+}
@@ -0,0 +1,59 @@
+package io.github.ryntric;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.util.List;
+
+/**
+ * Two single-threaded groups of a multicast ring of capacity two each receive all
+ * three pushed items. The third push wraps the ring, so the producer must wait for
+ * both groups; gating on only one of them lets it overwrite an item the other
+ * group has not seen yet.
+ */
+@State
+@JCStressTest
+@Outcome(id = "6, 6", expect = Expect.ACCEPTABLE)
+public class SingleProducerMulticastStressTest {
+    private final List<Channel<Integer>> channels = Channel.spmulticast(
+            2,
+            ProducerWaitStrategyType.SPINNING,
+            ConsumerWaitStrategyType.SPINNING,
+            ConsumerGroupType.SINGLE_THREADED,
+            ConsumerGroupType.SINGLE_THREADED
+    );
+
+    private static int receive(Channel<Integer> channel) {
+        int[] sum = new int[2];
+        while (sum[1] < 3) {
+            channel.blockingReceive(3, item -> {
+                sum[0] += item;
+                sum[1]++;
+            });
+        }
+        return sum[0];
+    }
+
+    @Actor
+    public void producer() {
+        Channel<Integer> channel = channels.get(0);
+        channel.push(1);
+        channel.push(2);
+        channel.push(3);
+    }
+
+    @Actor
+    public void group1(II_Result result) {
+        result.r1 = receive(channels.get(0));
+    }
+
+    @Actor
+    public void group2(II_Result result) {
+        result.r2 = receive(channels.get(1));
+    }
+
+}
@@ -0,0 +1,45 @@
+package io.github.ryntric;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A producer blocked on a full channel must be woken once the consumer frees
+ * capacity. A lost wake-up leaves it parked and the test hangs.
+ */
+@State
+@JCStressTest
+@Outcome(id = "4", expect = Expect.ACCEPTABLE)
+public class SingleProducerSingleConsumerBlockingProducerStressTest {
+    private final Channel<Object> channel = Channel.spsc(2, ProducerWaitStrategyType.BLOCKING, ConsumerWaitStrategyType.LITE_BLOCKING);
+    private static final Object DUMMY = new Object();
+
+    private int consumed;
+    private final Consumer<Object> handler = obj -> {
+        Objects.requireNonNull(obj);
+        consumed++;
+    };
+
+    @Actor
+    public void producer() {
+        for (int i = 0; i < 4; i++) {
+            channel.push(DUMMY);
+        }
+    }
+
+    @Actor
+    public void consumer(I_Result result) {
+        while (consumed < 4) {
+            channel.blockingReceive(1, handler);
+        }
+        result.r1 = consumed;
+    }
+
+}
@@ -0,0 +1,66 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AvailabilityBuffer#set(long)} and
+ * {@link AvailabilityBuffer#setRange(long, long)} of {@code batch} sequences, as a
+ * producer of a multi-producer channel publishes them, going round the ring lap after
+ * lap. Together with {@link AvailabilityBufferScanPerfTest} it covers every operation
+ * of the buffer, so running both on Java 11 and on Java 22 or later compares the
+ * {@code Unsafe} and the {@code MemorySegment} version of {@link NativeMemory}.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AvailabilityBufferPublishPerfTest {
+    private static final int SIZE = 8192;
+
+    @State(Scope.Thread)
+    public static class PublishState {
+        protected AvailabilityBuffer buffer;
+        protected long sequence;
+
+        @Setup
+        public void setup() {
+            buffer = new AvailabilityBuffer(SIZE, false);
+        }
+
+        @TearDown
+        public void teardown() {
+            buffer.free();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BatchState extends PublishState {
+        @Param({"64", "512"})
+        public int batch;
+    }
+
+    @Benchmark
+    public void set(PublishState state) {
+        state.buffer.set(state.sequence++);
+    }
+
+    @Benchmark
+    public void setRange(BatchState state) {
+        long low = state.sequence;
+        state.sequence += state.batch;
+        state.buffer.setRange(low, state.sequence - 1);
+    }
+
+}
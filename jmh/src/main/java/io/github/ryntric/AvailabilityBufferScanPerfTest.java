@@ -0,0 +1,72 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AvailabilityBuffer#getAvailable(long, long)} over a fully published
+ * range of {@code batch} sequences, as a consumer of a multi-producer channel scans it
+ * before every batch. The range was published by pushes of {@code run} items, capped at
+ * {@code batch} so the scan ends on the end of a push. Sequences pushed one by one are
+ * compared two at a time; {@code aligned} starts the range on an odd sequence, which
+ * costs a leading single-flag check. Longer pushes are stepped over one at a time.
+ * Ranges of more than 2048 sequences cross into the next lap of the ring.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AvailabilityBufferScanPerfTest {
+    private static final int SIZE = 8192;
+    private static final long LOW = 6144;
+
+    @State(Scope.Thread)
+    public static class ScanState {
+        @Param({"1", "4", "16", "64", "256", "1024", "4096"})
+        public int batch;
+
+        @Param({"true", "false"})
+        public boolean aligned;
+
+        @Param({"1", "64", "512"})
+        public int run;
+
+        private AvailabilityBuffer buffer;
+        private long low;
+        private long high;
+
+        @Setup
+        public void setup() {
+            buffer = new AvailabilityBuffer(SIZE, false);
+            low = aligned ? LOW : LOW + 1;
+            high = low + batch - 1;
+
+            int length = Math.min(run, batch);
+            for (long sequence = low; sequence < low + SIZE; sequence += length) {
+                buffer.setRange(sequence, sequence + length - 1);
+            }
+        }
+
+        @TearDown
+        public void teardown() {
+            buffer.free();
+        }
+    }
+
+    @Benchmark
+    public long getAvailable(ScanState state) {
+        return state.buffer.getAvailable(state.low, state.high);
+    }
+
+}
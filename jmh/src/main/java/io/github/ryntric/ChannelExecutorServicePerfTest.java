@@ -0,0 +1,149 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares {@link ChannelExecutorService} with a {@link ThreadPoolExecutor} over a
+ * bounded {@link LinkedBlockingQueue} and a {@link ForkJoinPool}, each with four
+ * workers. The throughput benchmarks submit batches of short tasks and wait for
+ * them to complete; the latency benchmarks measure the round trip from submitting
+ * a task until it runs.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+public class ChannelExecutorServicePerfTest {
+    private static final int THREADS = 4;
+    private static final int CAPACITY = 8192;
+    private static final int TASKS = 1024;
+
+    public static abstract class ExecutorState {
+        protected final ExecutorService executor;
+        protected final LongAdder completed = new LongAdder();
+        protected final AtomicLong ran = new AtomicLong();
+        protected long submitted;
+
+        protected ExecutorState(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @TearDown
+        public void teardown() throws InterruptedException {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ChannelExecutorState extends ExecutorState {
+        public ChannelExecutorState() {
+            super(new ChannelExecutorService(THREADS, CAPACITY, ProducerWaitStrategyType.YIELDING, ConsumerWaitStrategyType.PHASED));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadPoolExecutorState extends ExecutorState {
+        public ThreadPoolExecutorState() {
+            super(new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(CAPACITY),
+                    (task, executor) -> {
+                        try {
+                            executor.getQueue().put(task);
+                        } catch (InterruptedException ex) {
+                            throw new RejectedExecutionException(ex);
+                        }
+                    }));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ForkJoinPoolState extends ExecutorState {
+        public ForkJoinPoolState() {
+            super(new ForkJoinPool(THREADS));
+        }
+    }
+
+    private static void throughput(ExecutorState state) {
+        LongAdder completed = state.completed;
+        Runnable task = completed::increment;
+        for (int i = 0; i < TASKS; i++) {
+            state.executor.execute(task);
+        }
+
+        long target = state.submitted += TASKS;
+        while (completed.sum() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void latency(ExecutorState state) {
+        AtomicLong ran = state.ran;
+        long id = ++state.submitted;
+        state.executor.execute(() -> ran.setRelease(id));
+        while (ran.getAcquire() != id) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(TASKS)
+    public void channelExecutorThroughput(ChannelExecutorState state) {
+        throughput(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(TASKS)
+    public void threadPoolExecutorThroughput(ThreadPoolExecutorState state) {
+        throughput(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(TASKS)
+    public void forkJoinPoolThroughput(ForkJoinPoolState state) {
+        throughput(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void channelExecutorLatency(ChannelExecutorState state) {
+        latency(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void threadPoolExecutorLatency(ThreadPoolExecutorState state) {
+        latency(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void forkJoinPoolLatency(ForkJoinPoolState state) {
+        latency(state);
+    }
+
+}
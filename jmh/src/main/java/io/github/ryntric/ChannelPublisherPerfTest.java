@@ -0,0 +1,172 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares a {@link ChannelPublisher} with a {@link SubmissionPublisher} of the same
+ * buffer capacity. Each invocation publishes a batch of items and waits until the
+ * subscriber has received all of them; the subscriber requests {@code request} items
+ * at a time, so {@code request = 1} shows the cost of per-item signalling.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+public class ChannelPublisherPerfTest {
+    private static final int CAPACITY = 8192;
+    private static final int MAX_BATCH = 256;
+    private static final int ITEMS = 1024;
+    private static final Long ITEM = 1L;
+
+    private static final class CountingSubscriber implements Flow.Subscriber<Long> {
+        private final AtomicLong received = new AtomicLong();
+        private final int request;
+        private Flow.Subscription subscription;
+        private long count;
+
+        CountingSubscriber(int request) {
+            this.request = request;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(request);
+        }
+
+        @Override
+        public void onNext(Long item) {
+            if (++count % request == 0) {
+                received.setRelease(count);
+                subscription.request(request);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @State(Scope.Thread)
+    public static abstract class PublisherState {
+        @Param({"1", "64", "1024"})
+        public int request;
+
+        protected ExecutorService executor;
+        protected CountingSubscriber subscriber;
+        protected long published;
+
+        @Setup
+        public void setup() {
+            executor = Executors.newSingleThreadExecutor();
+            subscriber = new CountingSubscriber(request);
+            subscribe(executor, subscriber);
+        }
+
+        protected abstract void subscribe(ExecutorService executor, CountingSubscriber subscriber);
+
+        protected abstract void publish(Long item);
+
+        @TearDown
+        public void teardown() throws InterruptedException {
+            close();
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        protected abstract void close();
+    }
+
+    @State(Scope.Thread)
+    public static class ChannelPublisherState extends PublisherState {
+        private Channel<Long> channel;
+        private ChannelPublisher<Long> publisher;
+
+        @Override
+        protected void subscribe(ExecutorService executor, CountingSubscriber subscriber) {
+            channel = Channel.spsc(CAPACITY, ProducerWaitStrategyType.YIELDING, ConsumerWaitStrategyType.YIELDING);
+            publisher = new ChannelPublisher<>(channel, MAX_BATCH, executor);
+            publisher.subscribe(subscriber);
+        }
+
+        @Override
+        protected void publish(Long item) {
+            channel.push(item);
+        }
+
+        @Override
+        protected void close() {
+            subscriber.subscription.cancel();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SubmissionPublisherState extends PublisherState {
+        private SubmissionPublisher<Long> publisher;
+
+        @Override
+        protected void subscribe(ExecutorService executor, CountingSubscriber subscriber) {
+            publisher = new SubmissionPublisher<>(executor, CAPACITY);
+            publisher.subscribe(subscriber);
+        }
+
+        @Override
+        protected void publish(Long item) {
+            publisher.submit(item);
+        }
+
+        @Override
+        protected void close() {
+            publisher.close();
+        }
+    }
+
+    private static void publishAndAwait(PublisherState state) {
+        for (int i = 0; i < ITEMS; i++) {
+            state.publish(ITEM);
+        }
+
+        long target = state.published += ITEMS;
+        AtomicLong received = state.subscriber.received;
+        while (received.getAcquire() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(ITEMS)
+    public void channelPublisher(ChannelPublisherState state) {
+        publishAndAwait(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(ITEMS)
+    public void submissionPublisher(SubmissionPublisherState state) {
+        publishAndAwait(state);
+    }
+
+}
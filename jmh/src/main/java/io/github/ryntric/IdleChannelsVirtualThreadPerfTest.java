@@ -0,0 +1,101 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs 10,000 idle channels, each consumed by a {@link ConsumerLoop} on a virtual
+ * thread, next to one active channel pair. The round trip rate of the active pair
+ * shows how much of the carrier threads the idle consumers leave free, and the
+ * {@code cpuMillis} counter reports the CPU time the whole process used per
+ * iteration.
+ * <p>
+ * Virtual threads are required, so the benchmark must run on JDK 21 or later.
+ * </p>
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdleChannelsVirtualThreadPerfTest {
+    private static final int IDLE_CHANNELS = 10_000;
+    private static final Object DUMMY = new Object();
+
+    @State(Scope.Thread)
+    public static class ChannelsState {
+        @Param({"LITE_BLOCKING", "PHASED", "PARKING"})
+        public ConsumerWaitStrategyType strategy;
+
+        private final List<ConsumerLoop> loops = new ArrayList<>();
+        private Channel<Object> request;
+        private Channel<Object> response;
+        private Consumer<Object> ignore;
+
+        @Setup
+        public void setup() {
+            for (int i = 0; i < IDLE_CHANNELS; i++) {
+                Channel<Object> channel = Channel.spsc(16, ProducerWaitStrategyType.YIELDING, strategy);
+                loops.add(ConsumerLoop.startVirtual(channel, 16, item -> {}));
+            }
+
+            this.request = Channel.spsc(1024, ProducerWaitStrategyType.YIELDING, strategy);
+            this.response = Channel.spsc(1024, ProducerWaitStrategyType.YIELDING, strategy);
+            this.ignore = item -> {};
+            Channel<Object> response = this.response;
+            loops.add(ConsumerLoop.startVirtual(request, 16, response::push));
+        }
+
+        @TearDown
+        public void teardown() throws InterruptedException {
+            for (ConsumerLoop loop : loops) {
+                loop.stop();
+            }
+            for (ConsumerLoop loop : loops) {
+                loop.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuState {
+        private long cpuTimeAtStart;
+
+        private static long processCpuTime() {
+            return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.cpuTimeAtStart = processCpuTime();
+        }
+
+        public long cpuMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(processCpuTime() - cpuTimeAtStart);
+        }
+    }
+
+    @Benchmark
+    public void roundTrip(ChannelsState state, CpuState cpu) {
+        state.request.push(DUMMY);
+        state.response.blockingReceive(1, state.ignore);
+    }
+
+}
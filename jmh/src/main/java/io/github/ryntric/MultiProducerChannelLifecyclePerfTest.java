@@ -0,0 +1,57 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures a short-lived multi-producer channel, as created per session: the channel
+ * is created, two laps of its ring are pushed and received, and its off-heap memory is
+ * freed. {@code aligned} selects {@link ChannelOptions#alignedMemory()}.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultiProducerChannelLifecyclePerfTest {
+    private static final Object DUMMY = new Object();
+
+    @State(Scope.Thread)
+    public static class LifecycleState {
+        @Param({"1024", "65536"})
+        public int capacity;
+
+        @Param({"false", "true"})
+        public boolean aligned;
+
+        private ChannelOptions options() {
+            return aligned ? new ChannelOptions().alignedMemory() : new ChannelOptions();
+        }
+    }
+
+    @Benchmark
+    public void createPushFree(LifecycleState state, Blackhole bh) {
+        Channel<Object> channel = Channel.mpsc(state.capacity, ProducerWaitStrategyType.SPINNING,
+                ConsumerWaitStrategyType.SPINNING, state.options());
+        Consumer<Object> handler = bh::consume;
+        int batch = Integer.min(state.capacity, 256);
+        for (int pushed = 0; pushed < state.capacity << 1; pushed += batch) {
+            for (int i = 0; i < batch; i++) {
+                channel.push(DUMMY);
+            }
+            channel.receive(batch, handler);
+        }
+        channel.free();
+    }
+
+}
@@ -15,7 +15,6 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 @Fork(1)
@@ -24,8 +23,6 @@ import java.util.function.Consumer;
 @OutputTimeUnit(TimeUnit.SECONDS)
 public class MultiProducerMultiConsumerSingleItemPerfTest {
     private static final Object DUMMY = new Object();
-    private static final AtomicBoolean isRunning = new AtomicBoolean(true);
-
     @State(Scope.Group)
     public static class OneToOneRingBufferState {
         private final Channel<Object> channel = Channel.mpmc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
@@ -35,8 +32,8 @@ public class MultiProducerMultiConsumerSingleItemPerfTest {
             for (int i = 0; i < 4; i++) {
                 new Thread(() -> {
                     Consumer<Object> handler = bh::consume;
-                    while (isRunning.getOpaque()) {
-                        channel.blockingReceive(2048, handler);
+                    while (channel.blockingReceive(2048, handler)) {
+                        // keep receiving until the channel is closed
                     }
                 }).start();
             }
@@ -44,7 +41,7 @@ public class MultiProducerMultiConsumerSingleItemPerfTest {
 
         @TearDown
         public void teardown() {
-            isRunning.setRelease(false);
+            channel.close();
         }
     }
 
@@ -0,0 +1,75 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Four competing consumers, one of which stalls for {@code stall} tokens of
+ * {@link Blackhole#consumeCPU(long)} at the end of every batch. The other consumers
+ * complete batches behind the stalled one, so the benchmark shows whether a slow
+ * handler holds back the fast consumers and the producers.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultiProducerMultiConsumerSkewedLatencyPerfTest {
+    private static final Object DUMMY = new Object();
+
+    @State(Scope.Group)
+    public static class SkewedState {
+        @Param({"0", "1000", "100000"})
+        public long stall;
+
+        private final Channel<Object> channel = Channel.mpmc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            for (int i = 0; i < 4; i++) {
+                long tokens = i == 0 ? stall : 0;
+                new Thread(() -> {
+                    BatchHandler<Object> handler = (item, sequence, endOfBatch) -> {
+                        bh.consume(item);
+                        if (endOfBatch) {
+                            Blackhole.consumeCPU(tokens);
+                        }
+                    };
+                    while (channel.blockingReceive(64, handler)) {
+                        // keep receiving until the channel is closed
+                    }
+                }).start();
+            }
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    @Group("skewed")
+    public void producer1(SkewedState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    @Group("skewed")
+    public void producer2(SkewedState state) {
+        state.channel.push(DUMMY);
+    }
+
+}
@@ -0,0 +1,82 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single-item pushes from every benchmark thread into an MPMC channel drained by two
+ * consumers, with the packed and the {@link ChannelOptions#spreadSlots() spread} slot
+ * layout. Runs with four producers by default; {@link #main(String[])} runs it with
+ * 1, 2, 4, 8 and 16 producers to show where the spread layout starts to pay off.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultiProducerMultiConsumerSlotLayoutPerfTest {
+    private static final Object DUMMY = new Object();
+
+    @State(Scope.Benchmark)
+    public static class LayoutState {
+        @Param({"false", "true"})
+        public boolean spread;
+
+        private Channel<Object> channel;
+
+        @Setup
+        public void setup(Blackhole bh) {
+            ChannelOptions options = new ChannelOptions();
+            if (spread) {
+                options.spreadSlots();
+            }
+            channel = Channel.mpmc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING, options);
+
+            for (int i = 0; i < 2; i++) {
+                new Thread(() -> {
+                    Consumer<Object> handler = bh::consume;
+                    while (channel.blockingReceive(256, handler)) {
+                        // keep receiving until the channel is closed
+                    }
+                }).start();
+            }
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    public void producer(LayoutState state) {
+        state.channel.push(DUMMY);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int producers : new int[]{1, 2, 4, 8, 16}) {
+            new Runner(new OptionsBuilder()
+                    .include(MultiProducerMultiConsumerSlotLayoutPerfTest.class.getSimpleName())
+                    .threads(producers)
+                    .build()).run();
+        }
+    }
+
+}
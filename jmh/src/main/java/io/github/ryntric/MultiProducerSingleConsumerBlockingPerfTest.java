@@ -0,0 +1,111 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultiProducerSingleConsumerBlockingPerfTest {
+    private static final Object DUMMY = new Object();
+
+    public static abstract class ChannelState {
+        protected final Channel<Object> channel;
+
+        protected ChannelState(ConsumerWaitStrategyType cw) {
+            this.channel = Channel.mpsc(8192, ProducerWaitStrategyType.SPINNING, cw);
+        }
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<Object> handler = bh::consume;
+                while (!channel.isClosed()) {
+                    channel.blockingReceive(2048, handler, 1, TimeUnit.MILLISECONDS);
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @State(Scope.Group)
+    public static class BlockingState extends ChannelState {
+        public BlockingState() {
+            super(ConsumerWaitStrategyType.BLOCKING);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class LiteBlockingState extends ChannelState {
+        public LiteBlockingState() {
+            super(ConsumerWaitStrategyType.LITE_BLOCKING);
+        }
+    }
+
+    @Benchmark
+    @Group("blocking")
+    public void blockingProducer1(BlockingState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    @Group("blocking")
+    public void blockingProducer2(BlockingState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    @Group("blocking")
+    public void blockingProducer3(BlockingState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    @Group("blocking")
+    public void blockingProducer4(BlockingState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    @Group("liteBlocking")
+    public void liteBlockingProducer1(LiteBlockingState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    @Group("liteBlocking")
+    public void liteBlockingProducer2(LiteBlockingState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    @Group("liteBlocking")
+    public void liteBlockingProducer3(LiteBlockingState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    @Group("liteBlocking")
+    public void liteBlockingProducer4(LiteBlockingState state) {
+        state.channel.push(DUMMY);
+    }
+
+}
@@ -0,0 +1,117 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Compares a boxed {@code Channel<Long>} with {@link LongChannel}. Run with
+ * {@code -prof gc} to see the allocation caused by boxing.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultiProducerSingleConsumerLongChannelPerfTest {
+    @State(Scope.Group)
+    public static class BoxedState {
+        private final Channel<Long> channel = Channel.mpsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<Long> handler = bh::consume;
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @State(Scope.Group)
+    public static class PrimitiveState {
+        private final LongChannel channel = LongChannel.mpsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                LongConsumer handler = bh::consume;
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    @Group("boxed")
+    public void boxedProducer1(BoxedState state) {
+        state.channel.push(System.nanoTime());
+    }
+
+    @Benchmark
+    @Group("boxed")
+    public void boxedProducer2(BoxedState state) {
+        state.channel.push(System.nanoTime());
+    }
+
+    @Benchmark
+    @Group("boxed")
+    public void boxedProducer3(BoxedState state) {
+        state.channel.push(System.nanoTime());
+    }
+
+    @Benchmark
+    @Group("boxed")
+    public void boxedProducer4(BoxedState state) {
+        state.channel.push(System.nanoTime());
+    }
+
+    @Benchmark
+    @Group("primitive")
+    public void primitiveProducer1(PrimitiveState state) {
+        state.channel.push(System.nanoTime());
+    }
+
+    @Benchmark
+    @Group("primitive")
+    public void primitiveProducer2(PrimitiveState state) {
+        state.channel.push(System.nanoTime());
+    }
+
+    @Benchmark
+    @Group("primitive")
+    public void primitiveProducer3(PrimitiveState state) {
+        state.channel.push(System.nanoTime());
+    }
+
+    @Benchmark
+    @Group("primitive")
+    public void primitiveProducer4(PrimitiveState state) {
+        state.channel.push(System.nanoTime());
+    }
+
+}
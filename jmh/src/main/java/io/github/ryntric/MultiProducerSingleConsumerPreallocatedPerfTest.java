@@ -0,0 +1,132 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares reference publishing, where every push allocates a new event, with
+ * preallocated claim/publish. Run with {@code -prof gc} to see the allocation rate.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultiProducerSingleConsumerPreallocatedPerfTest {
+    public static final class Event {
+        private long value;
+    }
+
+    @State(Scope.Group)
+    public static class ReferenceState {
+        private final Channel<Event> channel = Channel.mpsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<Event> handler = event -> bh.consume(event.value);
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @State(Scope.Group)
+    public static class PreallocatedState {
+        private final Channel<Event> channel = Channel.mpsc(8192, Event::new, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<Event> handler = event -> bh.consume(event.value);
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    @Group("reference")
+    public void referenceProducer1(ReferenceState state) {
+        push(state.channel);
+    }
+
+    @Benchmark
+    @Group("reference")
+    public void referenceProducer2(ReferenceState state) {
+        push(state.channel);
+    }
+
+    @Benchmark
+    @Group("reference")
+    public void referenceProducer3(ReferenceState state) {
+        push(state.channel);
+    }
+
+    @Benchmark
+    @Group("reference")
+    public void referenceProducer4(ReferenceState state) {
+        push(state.channel);
+    }
+
+    @Benchmark
+    @Group("preallocated")
+    public void preallocatedProducer1(PreallocatedState state) {
+        publish(state.channel);
+    }
+
+    @Benchmark
+    @Group("preallocated")
+    public void preallocatedProducer2(PreallocatedState state) {
+        publish(state.channel);
+    }
+
+    @Benchmark
+    @Group("preallocated")
+    public void preallocatedProducer3(PreallocatedState state) {
+        publish(state.channel);
+    }
+
+    @Benchmark
+    @Group("preallocated")
+    public void preallocatedProducer4(PreallocatedState state) {
+        publish(state.channel);
+    }
+
+    private static void push(Channel<Event> channel) {
+        Event event = new Event();
+        event.value = System.nanoTime();
+        channel.push(event);
+    }
+
+    private static void publish(Channel<Event> channel) {
+        long sequence = channel.claim();
+        channel.get(sequence).value = System.nanoTime();
+        channel.publish(sequence);
+    }
+
+}
@@ -14,7 +14,6 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 @Fork(1)
@@ -23,8 +22,6 @@ import java.util.function.Consumer;
 @OutputTimeUnit(TimeUnit.SECONDS)
 public class MultiProducerSingleConsumerSingleItemPerfTest {
     private static final Object EVENT = new Object();
-    private static final AtomicBoolean isRunning = new AtomicBoolean(true);
-
 
     @State(Scope.Group)
     public static class OneToOneRingBufferState {
@@ -34,15 +31,15 @@ public class MultiProducerSingleConsumerSingleItemPerfTest {
         public void setup(Blackhole bh) {
             new Thread(() -> {
                 Consumer<Object> handler = bh::consume;
-                while (isRunning.getOpaque()) {
-                    channel.blockingReceive(2048, handler);
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
                 }
             }).start();
         }
 
         @TearDown
         public void teardown() {
-            isRunning.setRelease(false);
+            channel.close();
         }
     }
 
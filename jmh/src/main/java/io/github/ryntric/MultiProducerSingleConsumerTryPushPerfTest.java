@@ -0,0 +1,75 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultiProducerSingleConsumerTryPushPerfTest {
+    private static final Object EVENT = new Object();
+    @State(Scope.Group)
+    public static class OneToOneRingBufferState {
+        private final Channel<Object> channel = Channel.mpsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<Object> handler = bh::consume;
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    @Group("multiProducerSingleConsumer")
+    public void producer1(OneToOneRingBufferState state) {
+        tryPush(state.channel);
+    }
+
+    @Benchmark
+    @Group("multiProducerSingleConsumer")
+    public void producer2(OneToOneRingBufferState state) {
+        tryPush(state.channel);
+    }
+
+    @Benchmark
+    @Group("multiProducerSingleConsumer")
+    public void producer3(OneToOneRingBufferState state) {
+        tryPush(state.channel);
+    }
+
+    @Benchmark
+    @Group("multiProducerSingleConsumer")
+    public void producer4(OneToOneRingBufferState state) {
+        tryPush(state.channel);
+    }
+
+    private static void tryPush(Channel<Object> channel) {
+        while (!channel.tryPush(EVENT)) {
+            Thread.onSpinWait();
+        }
+    }
+
+}
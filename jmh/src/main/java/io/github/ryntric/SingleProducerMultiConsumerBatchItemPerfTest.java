@@ -14,7 +14,6 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 @Fork(1)
@@ -32,8 +31,6 @@ public class SingleProducerMultiConsumerBatchItemPerfTest {
             new Object(), new Object(), new Object(), new Object(), new Object(), new Object(), new Object(), new Object(),
             new Object(), new Object(), new Object(), new Object(), new Object(), new Object(), new Object(), new Object(),
     };
-    private static final AtomicBoolean isRunning = new AtomicBoolean(true);
-
     @State(Scope.Thread)
     public static class OneToOneRingBufferState {
         private final Channel<Object> channel = Channel.spmc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
@@ -43,8 +40,8 @@ public class SingleProducerMultiConsumerBatchItemPerfTest {
             for (int i = 0; i < 4; i++) {
                 new Thread(() -> {
                     Consumer<Object> handler = bh::consume;
-                    while (isRunning.getOpaque()) {
-                        channel.blockingReceive(2048, handler);
+                    while (channel.blockingReceive(2048, handler)) {
+                        // keep receiving until the channel is closed
                     }
                 }).start();
             }
@@ -52,7 +49,7 @@ public class SingleProducerMultiConsumerBatchItemPerfTest {
 
         @TearDown
         public void teardown() {
-            isRunning.setRelease(false);
+            channel.close();
         }
     }
 
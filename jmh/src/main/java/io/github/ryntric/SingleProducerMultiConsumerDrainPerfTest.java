@@ -0,0 +1,82 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SingleProducerMultiConsumerDrainPerfTest {
+    private static final Object DUMMY = new Object();
+
+    @State(Scope.Thread)
+    public static class ReceiveState {
+        private final Channel<Object> channel = Channel.spmc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            for (int i = 0; i < 4; i++) {
+                new Thread(() -> {
+                    Consumer<Object> handler = bh::consume;
+                    while (channel.blockingReceive(2048, handler)) {
+                        // keep receiving until the channel is closed
+                    }
+                }).start();
+            }
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DrainState {
+        private final Channel<Object> channel = Channel.spmc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            for (int i = 0; i < 4; i++) {
+                new Thread(() -> {
+                    Object[] batch = new Object[2048];
+                    int count;
+                    while ((count = channel.blockingDrain(batch, 0, batch.length)) != 0) {
+                        for (int j = 0; j < count; j++) {
+                            bh.consume(batch[j]);
+                        }
+                    }
+                }).start();
+            }
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    public void receive(ReceiveState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    public void drain(DrainState state) {
+        state.channel.push(DUMMY);
+    }
+
+}
@@ -0,0 +1,79 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares exchanging 64-byte messages as {@code byte[]} copies through a {@link Channel}
+ * with writing them in place into a {@link ByteChannel}.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SingleProducerSingleConsumerByteChannelPerfTest {
+    private static final byte[] MESSAGE = new byte[64];
+
+    @State(Scope.Thread)
+    public static class ArrayState {
+        private final Channel<byte[]> channel = Channel.spsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<byte[]> handler = bytes -> bh.consume(bytes[0]);
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RecordState {
+        private final ByteChannel channel = ByteChannel.spsc(1 << 20, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                RecordHandler handler = (buffer, offset, length) -> bh.consume(buffer.get(offset));
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    public void array(ArrayState state) {
+        state.channel.push(MESSAGE.clone());
+    }
+
+    @Benchmark
+    public void record(RecordState state) {
+        state.channel.push(MESSAGE, 0, MESSAGE.length);
+    }
+
+}
@@ -0,0 +1,86 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SingleProducerSingleConsumerMetricsPerfTest {
+    private static final Object DUMMY = new Object();
+    public static abstract class ChannelState {
+        protected final Channel<Object> channel;
+
+        protected ChannelState(ChannelOptions options) {
+            this.channel = Channel.spsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING, options);
+        }
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<Object> handler = bh::consume;
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+            if (channel.metrics() != null) {
+                channel.metrics().unregister();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MetricsOffState extends ChannelState {
+        public MetricsOffState() {
+            super(new ChannelOptions());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MetricsOnState extends ChannelState {
+        public MetricsOnState() {
+            super(new ChannelOptions().metrics("perf-test"));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LatencySamplingState extends ChannelState {
+        public LatencySamplingState() {
+            super(new ChannelOptions().metrics("perf-test-latency").latencySampling(1024));
+        }
+    }
+
+    @Benchmark
+    public void metricsOff(MetricsOffState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    public void metricsOn(MetricsOnState state) {
+        state.channel.push(DUMMY);
+    }
+
+    @Benchmark
+    public void latencySampling(LatencySamplingState state) {
+        state.channel.push(DUMMY);
+    }
+
+}
@@ -0,0 +1,88 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares reference publishing, where every push allocates a new event, with
+ * preallocated claim/publish. Run with {@code -prof gc} to see the allocation rate.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SingleProducerSingleConsumerPreallocatedPerfTest {
+    public static final class Event {
+        private long value;
+    }
+
+    @State(Scope.Thread)
+    public static class ReferenceState {
+        private final Channel<Event> channel = Channel.spsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+        private long value;
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<Event> handler = event -> bh.consume(event.value);
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PreallocatedState {
+        private final Channel<Event> channel = Channel.spsc(8192, Event::new, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+        private long value;
+
+        @Setup
+        public void setup(Blackhole bh) {
+            new Thread(() -> {
+                Consumer<Event> handler = event -> bh.consume(event.value);
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    public void reference(ReferenceState state) {
+        Event event = new Event();
+        event.value = state.value++;
+        state.channel.push(event);
+    }
+
+    @Benchmark
+    public void preallocated(PreallocatedState state) {
+        Channel<Event> channel = state.channel;
+        long sequence = channel.claim();
+        channel.get(sequence).value = state.value++;
+        channel.publish(sequence);
+    }
+
+}
@@ -13,7 +13,6 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 @Fork(1)
@@ -22,8 +21,6 @@ import java.util.function.Consumer;
 @OutputTimeUnit(TimeUnit.SECONDS)
 public class SingleProducerSingleConsumerSingleItemPerfTest {
     private static final Object DUMMY = new Object();
-    private static final AtomicBoolean isRunning = new AtomicBoolean(true);
-
     @State(Scope.Thread)
     public static class OneToOneRingBufferState {
         private final Channel<Object> channel = Channel.spsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
@@ -33,8 +30,8 @@ public class SingleProducerSingleConsumerSingleItemPerfTest {
 
             new Thread(() -> {
                 Consumer<Object> handler = bh::consume;
-                while (isRunning.getOpaque()) {
-                    channel.blockingReceive(2048, handler);
+                while (channel.blockingReceive(2048, handler)) {
+                    // keep receiving until the channel is closed
                 }
             }).start();
 
@@ -42,7 +39,7 @@ public class SingleProducerSingleConsumerSingleItemPerfTest {
 
         @TearDown
         public void teardown() {
-            isRunning.setRelease(false);
+            channel.close();
         }
     }
 
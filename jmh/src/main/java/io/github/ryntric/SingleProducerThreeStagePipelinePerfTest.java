@@ -0,0 +1,117 @@
+package io.github.ryntric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares a decode, enrich and persist pipeline running as three stages of one
+ * multicast ring against the same pipeline built from three chained channels.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SingleProducerThreeStagePipelinePerfTest {
+    public static final class Event {
+        long value;
+
+        Event(long value) {
+            this.value = value;
+        }
+    }
+
+    private static void start(Channel<Event> channel, Consumer<Event> consumer, Channel<Event> downstream) {
+        new Thread(() -> {
+            while (channel.blockingReceive(2048, consumer)) {
+                // keep receiving until the channel is closed
+            }
+            if (downstream != null) {
+                downstream.close();
+            }
+        }).start();
+    }
+
+    @State(Scope.Thread)
+    public static class StagesState {
+        private Channel<Event> channel;
+        private long counter;
+
+        @Setup
+        public void setup(Blackhole bh) {
+            ConsumerStage decode = ConsumerStage.of(ConsumerGroupType.SINGLE_THREADED);
+            ConsumerStage enrich = ConsumerStage.of(ConsumerGroupType.SINGLE_THREADED, decode);
+            ConsumerStage persist = ConsumerStage.of(ConsumerGroupType.SINGLE_THREADED, enrich);
+            List<Channel<Event>> stages = Channel.spmulticast(8192, ProducerWaitStrategyType.SPINNING,
+                    ConsumerWaitStrategyType.SPINNING, decode, enrich, persist);
+
+            Consumer<Event> decoder = event -> event.value += 1;
+            Consumer<Event> enricher = event -> event.value *= 3;
+            Consumer<Event> persister = event -> bh.consume(event.value);
+            start(stages.get(0), decoder, null);
+            start(stages.get(1), enricher, null);
+            start(stages.get(2), persister, null);
+            this.channel = stages.get(0);
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ChainedState {
+        private Channel<Event> channel;
+        private long counter;
+
+        @Setup
+        public void setup(Blackhole bh) {
+            Channel<Event> decoded = Channel.spsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+            Channel<Event> enriched = Channel.spsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+            Channel<Event> persisted = Channel.spsc(8192, ProducerWaitStrategyType.SPINNING, ConsumerWaitStrategyType.SPINNING);
+
+            Consumer<Event> decoder = event -> {
+                event.value += 1;
+                enriched.push(event);
+            };
+            Consumer<Event> enricher = event -> {
+                event.value *= 3;
+                persisted.push(event);
+            };
+            Consumer<Event> persister = event -> bh.consume(event.value);
+            start(decoded, decoder, enriched);
+            start(enriched, enricher, persisted);
+            start(persisted, persister, null);
+            this.channel = decoded;
+        }
+
+        @TearDown
+        public void teardown() {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    public void stages(StagesState state) {
+        state.channel.push(new Event(state.counter++));
+    }
+
+    @Benchmark
+    public void chainedChannels(ChainedState state) {
+        state.channel.push(new Event(state.counter++));
+    }
+
+}
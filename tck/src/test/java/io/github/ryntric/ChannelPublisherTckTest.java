@@ -0,0 +1,134 @@
+package io.github.ryntric;
+
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowPublisherVerification;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+/**
+ * Runs the Reactive Streams TCK against {@link ChannelPublisher}.
+ * <p>
+ * Every publisher gets its own channel, filled by a producer thread with the requested
+ * number of elements before the channel is closed. Channels are closed after each
+ * test, which stops producers still waiting for capacity. They are not freed, since
+ * a delivery task may still be about to return from its last receive.
+ * </p>
+ *
+ * <p>A publisher accepts a single subscriber, as allowed by rule 1.11, so the
+ * multi-subscriber tests are skipped.</p>
+ */
+public class ChannelPublisherTckTest extends FlowPublisherVerification<Integer> {
+    private static final int CAPACITY = 1024;
+    private static final int MAX_BATCH = 64;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "channel-publisher-tck");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Channel<Integer>> channels = new ArrayList<>();
+
+    public ChannelPublisherTckTest() {
+        super(new TestEnvironment(), 1000);
+    }
+
+    @Override
+    public Flow.Publisher<Integer> createFlowPublisher(long elements) {
+        Channel<Integer> channel = channel();
+        Thread producer = new Thread(() -> {
+            try {
+                for (long i = 0; i < elements; i++) {
+                    channel.push((int) i);
+                }
+                channel.close();
+            } catch (IllegalStateException ex) {
+                // closed after the test, stop producing
+            }
+        }, "channel-producer-tck");
+        producer.setDaemon(true);
+        producer.start();
+        return new ChannelPublisher<>(channel, MAX_BATCH, executor);
+    }
+
+    /**
+     * Returns a publisher that already has a subscriber, so it rejects the next one
+     * with {@link Flow.Subscriber#onError(Throwable)}.
+     */
+    @Override
+    public Flow.Publisher<Integer> createFailedFlowPublisher() {
+        ChannelPublisher<Integer> publisher = new ChannelPublisher<>(channel(), MAX_BATCH, executor);
+        publisher.subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+            }
+
+            @Override
+            public void onNext(Integer item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        return publisher;
+    }
+
+    private synchronized Channel<Integer> channel() {
+        Channel<Integer> channel = Channel.spsc(CAPACITY, ProducerWaitStrategyType.BLOCKING, ConsumerWaitStrategyType.LITE_BLOCKING);
+        channels.add(channel);
+        return channel;
+    }
+
+    @AfterMethod
+    public synchronized void closeChannels() {
+        for (Channel<Integer> channel : channels) {
+            channel.close();
+        }
+        channels.clear();
+    }
+
+    @Override
+    @Test
+    public void optional_spec111_maySupportMultiSubscribe() {
+        throw unicast();
+    }
+
+    @Override
+    @Test
+    public void optional_spec111_registeredSubscribersMustReceiveOnNextOrOnCompleteSignals() {
+        throw unicast();
+    }
+
+    @Override
+    @Test
+    public void optional_spec111_multicast_mustProduceTheSameElementsInTheSameSequenceToAllOfItsSubscribersWhenRequestingOneByOne() {
+        throw unicast();
+    }
+
+    @Override
+    @Test
+    public void optional_spec111_multicast_mustProduceTheSameElementsInTheSameSequenceToAllOfItsSubscribersWhenRequestingManyUpfront() {
+        throw unicast();
+    }
+
+    @Override
+    @Test
+    public void optional_spec111_multicast_mustProduceTheSameElementsInTheSameSequenceToAllOfItsSubscribersWhenRequestingManyUpfrontAndCompleteAsExpected() {
+        throw unicast();
+    }
+
+    private static SkipException unicast() {
+        return new SkipException("ChannelPublisher accepts a single subscriber");
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.ryntric;
+
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.FlowSubscriberBlackboxVerification;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Runs the Reactive Streams TCK against {@link ChannelSubscriber}, and checks that a
+ * subscriber whose channel is closed cancels its subscription instead of throwing.
+ * <p>
+ * Every subscriber pushes into its own channel. The tests push fewer items than a
+ * channel holds, so nothing consumes them. Channels are closed after each test but not
+ * freed, since the helper publisher of the TCK may still be signalling a subscriber.
+ * </p>
+ */
+public class ChannelSubscriberTckTest extends FlowSubscriberBlackboxVerification<Integer> {
+    private static final int CAPACITY = 1024;
+
+    private final List<Channel<Integer>> channels = new ArrayList<>();
+
+    public ChannelSubscriberTckTest() {
+        super(new TestEnvironment());
+    }
+
+    @Override
+    public Flow.Subscriber<Integer> createFlowSubscriber() {
+        return new ChannelSubscriber<>(channel());
+    }
+
+    @Override
+    public Integer createElement(int element) {
+        return element;
+    }
+
+    @Test
+    public void closedChannelMustCancelTheSubscriptionAndFailTheCompletion() throws Exception {
+        Channel<Integer> channel = channel();
+        ChannelSubscriber<Integer> subscriber = new ChannelSubscriber<>(channel);
+        long[] requested = new long[1];
+        int[] cancelled = new int[1];
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                requested[0] += n;
+            }
+
+            @Override
+            public void cancel() {
+                cancelled[0]++;
+            }
+        });
+
+        subscriber.onNext(1);
+        channel.close();
+        subscriber.onNext(2);
+        subscriber.onNext(3);
+        subscriber.onComplete();
+
+        assertTrue(requested[0] >= 3);
+        assertEquals(cancelled[0], 1);
+        ExecutionException ex = expectThrows(ExecutionException.class, () -> subscriber.completion().get(1, TimeUnit.SECONDS));
+        assertTrue(ex.getCause() instanceof IllegalStateException, String.valueOf(ex.getCause()));
+    }
+
+    private synchronized Channel<Integer> channel() {
+        Channel<Integer> channel = Channel.spsc(CAPACITY, ProducerWaitStrategyType.BLOCKING, ConsumerWaitStrategyType.LITE_BLOCKING);
+        channels.add(channel);
+        return channel;
+    }
+
+    @AfterMethod
+    public synchronized void closeChannels() {
+        for (Channel<Integer> channel : channels) {
+            channel.close();
+        }
+        channels.clear();
+    }
+}